@@ -1,11 +1,15 @@
 package com.absolute.cinema.common.exception;
 
 import com.absolute.cinema.common.exception.custom.BadRequestException;
+import com.absolute.cinema.common.exception.custom.ConflictException;
 import com.absolute.cinema.common.exception.custom.ForbiddenException;
 import com.absolute.cinema.common.exception.custom.NotFoundException;
+import com.absolute.cinema.common.exception.custom.ServiceUnavailableException;
+import com.absolute.cinema.common.exception.custom.TooManyRequestsException;
 import com.absolute.cinema.common.exception.custom.UnauthorizedException;
 import com.absolute.cinema.dto.ErrorDTO;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -76,6 +80,29 @@ public class GlobalExceptionHandler {
                 .body(new ErrorDTO(HttpStatus.FORBIDDEN.value(), List.of(ex.getMessage())));
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorDTO> handleConflictException(ConflictException ex, WebRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ErrorDTO(HttpStatus.CONFLICT.value(), ex.getErrors()));
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorDTO> handleTooManyRequestsException(TooManyRequestsException ex, WebRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorDTO(HttpStatus.TOO_MANY_REQUESTS.value(), List.of(ex.getMessage())));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorDTO> handleServiceUnavailableException(ServiceUnavailableException ex, WebRequest request) {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorDTO(HttpStatus.SERVICE_UNAVAILABLE.value(), List.of(ex.getMessage())));
+    }
+
     @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
     public ResponseEntity<ErrorDTO> handleHttpMediaTypeNotAcceptableException(HttpMediaTypeNotAcceptableException ex, WebRequest request) {
         return ResponseEntity
@@ -0,0 +1,16 @@
+package com.absolute.cinema.common.exception.custom;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ConflictException extends RuntimeException {
+
+    private final List<String> errors;
+
+    public ConflictException(List<String> errors) {
+        super(String.join("; ", errors));
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,7 @@
+package com.absolute.cinema.common.exception.custom;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.absolute.cinema.common.exception.custom;
+
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,53 @@
+package com.absolute.cinema.common.pagination;
+
+import com.absolute.cinema.common.exception.custom.BadRequestException;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Opaque keyset cursor: the sort key and id of the last row of a page, encoded as URL-safe base64.
+ */
+public record Cursor(Instant key, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new Cursor(Instant.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public static ScrollPosition position(String cursor, String keyProperty, Function<Instant, ?> keyType) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        Cursor decoded = decode(cursor);
+        return ScrollPosition.forward(Map.of(keyProperty, keyType.apply(decoded.key()), "id", decoded.id()));
+    }
+
+    public static <T> String next(Window<T> window, Function<T, Instant> key, Function<T, UUID> id) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+
+        T last = window.getContent().getLast();
+        return new Cursor(key.apply(last), id.apply(last)).encode();
+    }
+}
@@ -0,0 +1,64 @@
+package com.absolute.cinema.common.scheduling;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Hashed timing wheel: items are placed in the bucket of their deadline tick and collected by {@link #advance}.
+ * Deadlines further away than one revolution share buckets and are skipped until their tick comes round.
+ */
+public class HashedTimingWheel<T> {
+
+    private final long tickMs;
+    private final List<List<Entry<T>>> buckets;
+    private long currentTick;
+    private int size;
+
+    public HashedTimingWheel(long tickMs, int wheelSize, long startMs) {
+        this.tickMs = tickMs;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.currentTick = startMs / tickMs;
+    }
+
+    public synchronized void schedule(T item, long deadlineMs) {
+        long tick = Math.max(Math.ceilDiv(deadlineMs, tickMs), currentTick + 1);
+        bucket(tick).add(new Entry<>(item, tick));
+        size++;
+    }
+
+    public synchronized List<T> advance(long nowMs) {
+        long targetTick = nowMs / tickMs;
+        List<T> expired = new ArrayList<>();
+
+        long steps = Math.min(targetTick - currentTick, buckets.size());
+        for (long i = 1; i <= steps; i++) {
+            Iterator<Entry<T>> iterator = bucket(currentTick + i).iterator();
+            while (iterator.hasNext()) {
+                Entry<T> entry = iterator.next();
+                if (entry.tick() <= targetTick) {
+                    expired.add(entry.item());
+                    iterator.remove();
+                }
+            }
+        }
+
+        currentTick = Math.max(currentTick, targetTick);
+        size -= expired.size();
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private List<Entry<T>> bucket(long tick) {
+        return buckets.get((int) Math.floorMod(tick, (long) buckets.size()));
+    }
+
+    private record Entry<T>(T item, long tick) {
+    }
+}
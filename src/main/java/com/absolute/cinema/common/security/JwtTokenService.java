@@ -2,38 +2,80 @@ package com.absolute.cinema.common.security;
 
 import com.absolute.cinema.entity.Token;
 import com.absolute.cinema.entity.User;
+import com.absolute.cinema.repository.TokenPartitionRepository;
 import com.absolute.cinema.repository.TokenRepository;
-import io.jsonwebtoken.Claims;
+import com.absolute.cinema.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.function.Function;
+import java.util.UUID;
 
 @Component
-@RequiredArgsConstructor
 public class JwtTokenService {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenService.class);
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
-
     @Value("${jwt.access-expiration-ms}")
     private long accessExpirationMs;
 
     private final TokenRepository tokenRepository;
+    private final TokenPartitionRepository tokenPartitionRepository;
+    private final UserRepository userRepository;
+    private final Cache<String, Boolean> validatedTokens;
+    private final Cache<UUID, Instant> tokensValidAfter;
+    private final Cache<UUID, UserPrincipal> principals;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    public JwtTokenService(
+            TokenRepository tokenRepository,
+            TokenPartitionRepository tokenPartitionRepository,
+            UserRepository userRepository,
+            @Value("${jwt.secret}") String jwtSecret,
+            @Value("${jwt.validation-cache-ttl-ms}") long validationCacheTtlMs,
+            @Value("${jwt.validation-cache-size}") long validationCacheSize,
+            @Value("${jwt.principal-cache-ttl-ms}") long principalCacheTtlMs
+    ) {
+        this.tokenRepository = tokenRepository;
+        this.tokenPartitionRepository = tokenPartitionRepository;
+        this.userRepository = userRepository;
+        this.validatedTokens = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(validationCacheTtlMs))
+                .maximumSize(validationCacheSize)
+                .build();
+        this.tokensValidAfter = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(validationCacheTtlMs))
+                .maximumSize(validationCacheSize)
+                .build();
+        this.principals = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(principalCacheTtlMs))
+                .maximumSize(validationCacheSize)
+                .build();
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(jwtSecret));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+    }
 
     public String generateToken(User user) {
         String primaryRole = user.getRoles().stream()
@@ -41,87 +83,149 @@ public class JwtTokenService {
                 .map(role -> role.getRole().name())
                 .orElse("UNKNOWN");
 
+        long issuedAt = System.currentTimeMillis();
+
         return Jwts
                 .builder()
+                .id(UUID.randomUUID().toString())
                 .subject(user.getEmail())
                 .claim("role", primaryRole)
                 .claim("userId", user.getId())
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + accessExpirationMs))
-                .signWith(getSigningKey())
+                .claim(ParsedToken.ISSUED_AT_MS, issuedAt)
+                .issuedAt(new Date(issuedAt))
+                .expiration(new Date(issuedAt + accessExpirationMs))
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public ParsedToken parse(String token) {
+        return new ParsedToken(token, parser.parseSignedClaims(token).getPayload());
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> resolver) {
-        Claims claims = extractAllClaims(token);
-        return resolver.apply(claims);
-    }
+    public UserPrincipal authenticate(ParsedToken token) {
+        if (isIssuedBeforeRevocation(token)) {
+            return null;
+        }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        UserPrincipal principal = principals.get(token.userId(), this::loadPrincipal);
+        if (!token.username().equals(principal.email())) {
+            return null;
+        }
+
+        String key = cacheKey(digest(token.token()));
+        if (validatedTokens.getIfPresent(key) != null) {
+            return principal;
+        }
+
+        if (!isValid(token)) {
+            return null;
+        }
+
+        validatedTokens.put(key, Boolean.TRUE);
+        return principal;
     }
 
-    public boolean isValid(String token, UserDetails userDetails) {
-        String username = extractUsername(token);
+    public boolean isValid(ParsedToken token) {
         boolean isTokenInDatabase = tokenRepository
-                .findByAccessToken(token)
+                .findByTokenDigestAndExpirationDate(digest(token.token()), token.expiration().toInstant())
                 .map(t -> !t.isLoggedOut())
                 .orElse(false);
-        
-        return username.equals(userDetails.getUsername()) 
-               && !isTokenExpired(token) 
-               && isTokenInDatabase;
+
+        return !token.isExpired() && isTokenInDatabase;
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public void invalidatePrincipal(UUID userId) {
+        principals.invalidate(userId);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private UserPrincipal loadPrincipal(UUID userId) {
+        return userRepository.findById(userId)
+                .map(UserPrincipal::of)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + userId));
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64URL.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private boolean isIssuedBeforeRevocation(ParsedToken token) {
+        UUID userId = token.userId();
+        Instant issuedAt = token.issuedAt();
+        if (userId == null || issuedAt == null) {
+            return true;
+        }
+
+        Instant validAfter = tokensValidAfter.get(userId,
+                id -> userRepository.findTokensValidAfterById(id).orElse(Instant.EPOCH));
+
+        return !issuedAt.isAfter(validAfter);
+    }
+
+    private byte[] digest(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private String cacheKey(byte[] digest) {
+        return HexFormat.of().formatHex(digest);
     }
 
     @Scheduled(fixedRateString = "${jwt.expired-tokens-cleanup-ms}")
     public void cleanupExpiredTokens() {
-        tokenRepository.deleteByExpirationDateBefore(Instant.now());
+        if (!tokenPartitionRepository.withMaintenanceLock(this::maintainPartitions)) {
+            logger.debug("Token partitions are being maintained by another instance");
+        }
+    }
+
+    private void maintainPartitions(TokenPartitionRepository partitionRepository) {
+        LocalDate today = LocalDate.now();
+        LocalDate lastDay = today.plusDays(Duration.ofMillis(accessExpirationMs).toDays() + 2);
+        List<LocalDate> partitions = partitionRepository.findPartitionDays();
+
+        for (LocalDate day : partitions) {
+            if (day.isBefore(today.minusDays(1))) {
+                try {
+                    partitionRepository.dropPartition(day);
+                } catch (DataAccessException e) {
+                    logger.warn("Failed to drop token partition for {}: {}", day, e.getMessage());
+                }
+            }
+        }
+
+        for (LocalDate day = today; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            if (!partitions.contains(day)) {
+                try {
+                    partitionRepository.createPartition(day);
+                } catch (DataAccessException e) {
+                    logger.warn("Failed to create token partition for {}: {}", day, e.getMessage());
+                }
+            }
+        }
+
+        partitionRepository.deleteExpiredFromDefault(Instant.now());
     }
 
     public void revokeToken(String accessToken) {
-        tokenRepository.findByAccessToken(accessToken)
+        byte[] digest = digest(accessToken);
+        tokenRepository.findByTokenDigestAndExpirationDate(digest, parse(accessToken).expiration().toInstant())
                 .ifPresent(token -> {
                     token.setLoggedOut(true);
                     tokenRepository.save(token);
                 });
+        validatedTokens.invalidate(cacheKey(digest));
     }
 
-    public void revokeAllTokens(User user) {
-        List<Token> tokens = tokenRepository.findAllByUserAndLoggedOutFalse(user);
-        tokens.forEach(token -> {
-            token.setLoggedOut(true);
-            tokenRepository.save(token);
-        });
+    public void revokeAllTokens(UUID userId) {
+        Instant validAfter = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        userRepository.updateTokensValidAfter(userId, validAfter);
+        tokensValidAfter.put(userId, validAfter);
     }
 
     public Token saveToken(User user, String accessToken) {
         Token token = new Token();
-        token.setAccessToken(accessToken);
+        token.setTokenDigest(digest(accessToken));
         token.setUser(user);
         token.setLoggedOut(false);
-        token.setExpirationDate(extractExpiration(accessToken).toInstant());
+        token.setExpirationDate(parse(accessToken).expiration().toInstant());
         return tokenRepository.save(token);
     }
 }
\ No newline at end of file
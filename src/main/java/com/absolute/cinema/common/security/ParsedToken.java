@@ -0,0 +1,46 @@
+package com.absolute.cinema.common.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Access token whose signature has already been verified, carrying its claims so they are read only once.
+ */
+public record ParsedToken(String token, Claims claims) {
+
+    /**
+     * Issue time in milliseconds. The standard {@code iat} claim only has second precision, which cannot
+     * tell a token issued right after a revocation from one issued right before it.
+     */
+    static final String ISSUED_AT_MS = "issuedAtMs";
+
+    public String username() {
+        return claims.getSubject();
+    }
+
+    public UUID userId() {
+        String userId = claims.get("userId", String.class);
+        return userId != null ? UUID.fromString(userId) : null;
+    }
+
+    public Instant issuedAt() {
+        Long issuedAtMs = claims.get(ISSUED_AT_MS, Long.class);
+        if (issuedAtMs != null) {
+            return Instant.ofEpochMilli(issuedAtMs);
+        }
+
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt != null ? issuedAt.toInstant() : null;
+    }
+
+    public Date expiration() {
+        return claims.getExpiration();
+    }
+
+    public boolean isExpired() {
+        return expiration().before(new Date());
+    }
+}
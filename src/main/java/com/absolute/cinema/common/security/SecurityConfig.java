@@ -1,7 +1,9 @@
 package com.absolute.cinema.common.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -82,6 +84,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.DELETE, "/seat-categories/{id}").hasAuthority("ADMIN")
 
                         .requestMatchers("/sessions/{sessionId}/tickets").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/sessions/{sessionId}/reservations").authenticated()
                         .requestMatchers("/tickets/{id}/reserve").authenticated()
                         .requestMatchers("/tickets/{id}/cancel-reservation").authenticated()
 
@@ -138,8 +141,13 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${security.password-hashing.threads}") int threads,
+            @Value("${security.password-hashing.queue-capacity}") int queueCapacity,
+            @Value("${security.password-hashing.timeout-ms}") long timeoutMs
+    ) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity, timeoutMs, meterRegistry);
     }
 
     @Bean
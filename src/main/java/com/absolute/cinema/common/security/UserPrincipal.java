@@ -0,0 +1,38 @@
+package com.absolute.cinema.common.security;
+
+import com.absolute.cinema.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of an authenticated user, detached from the persistence context so it can be cached.
+ */
+public record UserPrincipal(UUID id, String email, List<GrantedAuthority> authorities) implements UserDetails {
+
+    public static UserPrincipal of(User user) {
+        List<GrantedAuthority> authorities = user.getRoles().stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority(role.getRole().name()))
+                .toList();
+
+        return new UserPrincipal(user.getId(), user.getEmail(), authorities);
+    }
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -1,9 +1,9 @@
 package com.absolute.cinema.controller;
 
+import com.absolute.cinema.common.security.UserPrincipal;
 import com.absolute.cinema.dto.AuthResponseDTO;
 import com.absolute.cinema.dto.LoginRequestDTO;
 import com.absolute.cinema.dto.RegisterRequestDTO;
-import com.absolute.cinema.entity.User;
 import com.absolute.cinema.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -28,7 +28,7 @@ public class AuthController {
 
     @PostMapping("/logout")
     public ResponseEntity<Void> logout(
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal UserPrincipal user
     ) {
         authService.logout();
         return ResponseEntity.ok().build();
@@ -1,6 +1,7 @@
 package com.absolute.cinema.controller;
 
 import com.absolute.cinema.dto.CreateFilmDTO;
+import com.absolute.cinema.dto.CursorPagedListDTO;
 import com.absolute.cinema.dto.FilmDTO;
 import com.absolute.cinema.dto.FilmPagedListDTO;
 import com.absolute.cinema.dto.UpdateFilmDTO;
@@ -23,9 +24,18 @@ public class FilmController {
     @GetMapping
     public ResponseEntity<FilmPagedListDTO> getAllFilms(
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "true") boolean withTotal
+    ) {
+        return ResponseEntity.ok(filmService.getFilms(page, size, withTotal));
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPagedListDTO<FilmDTO>> getAllFilmsByCursor(
+            @RequestParam String cursor,
             @RequestParam(defaultValue = "10") int size
     ) {
-        return ResponseEntity.ok(filmService.getFilms(page, size));
+        return ResponseEntity.ok(filmService.getFilms(cursor, size));
     }
 
     @PostMapping
@@ -3,14 +3,25 @@ package com.absolute.cinema.controller;
 import com.absolute.cinema.dto.MediaDTO;
 import com.absolute.cinema.entity.Media;
 import com.absolute.cinema.service.MediaService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -19,6 +30,16 @@ import java.util.UUID;
 @CrossOrigin
 public class MediaController {
 
+    private static final String CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePublic()
+            .immutable()
+            .getHeaderValue();
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final MediaService mediaService;
 
     @PostMapping("/upload")
@@ -31,21 +52,69 @@ public class MediaController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<byte[]> getMedia(@PathVariable UUID id) {
-        Media media = mediaService.getMediaById(id);
-        
-        HttpHeaders headers = new HttpHeaders();
+    public void getMedia(
+            @PathVariable UUID id,
+            @RequestParam(value = "w", required = false) Integer width,
+            @RequestHeader HttpHeaders requestHeaders,
+            WebRequest webRequest,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        MediaService.MediaVersion version = mediaService.getMediaVersion(id, width);
+        String etag = version.etag() != null ? "\"" + version.etag() + "\"" : null;
+
+        if (webRequest.checkNotModified(etag, version.lastModified().getTime())) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            return;
+        }
+
+        MediaService.MediaContent content = mediaService.getMediaContent(version);
+        long size = content.sizeBytes();
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
         try {
-            headers.setContentType(MediaType.parseMediaType(media.getContentType()));
+            response.setContentType(MediaType.parseMediaType(content.contentType()).toString());
         } catch (Exception e) {
-            headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        }
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + content.filename() + "\"");
+
+        long start = 0;
+        long end = size - 1;
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        List<HttpRange> ranges = ifRange == null || ifRange.equals(etag) ? parseRanges(requestHeaders) : List.of();
+
+        if (ranges.size() == 1) {
+            try {
+                start = ranges.get(0).getRangeStart(size);
+                end = ranges.get(0).getRangeEnd(size);
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
         }
-        headers.setContentLength(media.getContent().length);
-        headers.set(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + media.getFilename() + "\"");
-        
-        return ResponseEntity.ok()
-                .headers(headers)
-                .body(media.getContent());
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+
+        // Copying into the servlet output stream goes through a heap buffer; when the connector supports
+        // sendfile, hand it the file region instead so the kernel copies it straight to the socket.
+        Optional<Path> file = Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))
+                ? mediaService.getContentFile(content)
+                : Optional.empty();
+        if (file.isPresent()) {
+            request.setAttribute(SENDFILE_FILENAME, file.get().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        mediaService.transferContent(content, start, length, Channels.newChannel(response.getOutputStream()));
     }
 
     @GetMapping("/{id}/info")
@@ -59,4 +128,12 @@ public class MediaController {
         mediaService.deleteMedia(id);
         return ResponseEntity.noContent().build();
     }
+
+    private List<HttpRange> parseRanges(HttpHeaders requestHeaders) {
+        try {
+            return requestHeaders.getRange();
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
 }
\ No newline at end of file
@@ -1,9 +1,9 @@
 package com.absolute.cinema.controller;
 
+import com.absolute.cinema.common.security.UserPrincipal;
 import com.absolute.cinema.dto.PaymentProcessDTO;
 import com.absolute.cinema.dto.PaymentResponseDTO;
 import com.absolute.cinema.dto.PaymentStatusDTO;
-import com.absolute.cinema.entity.User;
 import com.absolute.cinema.service.PaymentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -29,7 +29,7 @@ public class PaymentController {
     @GetMapping("/{id}/status")
     public ResponseEntity<PaymentStatusDTO> getPaymentStatus(
             @PathVariable("id") String paymentId,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal UserPrincipal user
     ) {
         return ResponseEntity.ok(paymentService.getPaymentStatus(paymentId, user));
     }
@@ -1,9 +1,10 @@
 package com.absolute.cinema.controller;
 
+import com.absolute.cinema.common.security.UserPrincipal;
 import com.absolute.cinema.dto.CreatePurchaseDTO;
+import com.absolute.cinema.dto.CursorPagedListDTO;
 import com.absolute.cinema.dto.PurchaseDTO;
 import com.absolute.cinema.dto.PurchasePagedListDTO;
-import com.absolute.cinema.entity.User;
 import com.absolute.cinema.service.PurchaseService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -25,15 +26,25 @@ public class PurchaseController {
     public ResponseEntity<PurchasePagedListDTO> getAllMyPurchases(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @AuthenticationPrincipal User user
+            @RequestParam(defaultValue = "true") boolean withTotal,
+            @AuthenticationPrincipal UserPrincipal user
     ) {
-        return ResponseEntity.ok(purchaseService.getPurchasesForClient(page, size, user.getId()));
+        return ResponseEntity.ok(purchaseService.getPurchasesForClient(page, size, withTotal, user.id()));
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPagedListDTO<PurchaseDTO>> getAllMyPurchasesByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @AuthenticationPrincipal UserPrincipal user
+    ) {
+        return ResponseEntity.ok(purchaseService.getPurchasesForClient(cursor, size, user.id()));
     }
 
     @PostMapping
     public ResponseEntity<PurchaseDTO> createPurchase(
             @RequestBody @Valid CreatePurchaseDTO createPurchaseDTO,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal UserPrincipal user
     ) {
         return ResponseEntity.ok(purchaseService.createPurchaseForClient(createPurchaseDTO, user));
     }
@@ -41,7 +52,7 @@ public class PurchaseController {
     @GetMapping("/{id}")
     public ResponseEntity<PurchaseDTO> getPurchaseById(
             @PathVariable UUID id,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal UserPrincipal user
     ) {
         return ResponseEntity.ok(purchaseService.getPurchaseById(id, user));
     }
@@ -49,7 +60,7 @@ public class PurchaseController {
     @PostMapping("/{id}/cancel")
     public ResponseEntity<PurchaseDTO> cancelPurchaseById(
             @PathVariable UUID id,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal UserPrincipal user
     ) {
         return ResponseEntity.ok(purchaseService.cancelPurchaseById(id, user));
     }
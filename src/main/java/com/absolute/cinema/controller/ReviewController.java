@@ -1,5 +1,6 @@
 package com.absolute.cinema.controller;
 
+import com.absolute.cinema.dto.CursorPagedListDTO;
 import com.absolute.cinema.dto.review.ReviewCreateDTO;
 import com.absolute.cinema.dto.review.ReviewDTO;
 import com.absolute.cinema.dto.review.ReviewPagedListDTO;
@@ -22,9 +23,19 @@ public class ReviewController {
     public ReviewPagedListDTO getFilmReviews(
             @PathVariable UUID filmId,
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(defaultValue = "true") boolean withTotal
+    ) {
+        return reviewService.getFilmReviews(filmId, page, size, withTotal);
+    }
+
+    @GetMapping(value = "/films/{filmId}/reviews", params = "cursor")
+    public CursorPagedListDTO<ReviewDTO> getFilmReviewsByCursor(
+            @PathVariable UUID filmId,
+            @RequestParam String cursor,
             @RequestParam(name = "size", defaultValue = "20") int size
     ) {
-        return reviewService.getFilmReviews(filmId, page, size);
+        return reviewService.getFilmReviews(filmId, cursor, size);
     }
 
     @PostMapping("/films/{filmId}/reviews")
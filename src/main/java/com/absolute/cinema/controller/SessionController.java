@@ -1,6 +1,7 @@
 package com.absolute.cinema.controller;
 
 import com.absolute.cinema.dto.CreateSessionDTO;
+import com.absolute.cinema.dto.CursorPagedListDTO;
 import com.absolute.cinema.dto.EditSessionDTO;
 import com.absolute.cinema.dto.SessionDTO;
 import com.absolute.cinema.dto.SessionPagedListDTO;
@@ -26,10 +27,21 @@ public class SessionController {
     public ResponseEntity<SessionPagedListDTO> getSessions(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "true") boolean withTotal,
             @RequestParam(required = false) UUID filmId,
             @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date date
     ) {
-        return ResponseEntity.ok(sessionService.getSessions(page, size, filmId, date));
+        return ResponseEntity.ok(sessionService.getSessions(page, size, withTotal, filmId, date));
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPagedListDTO<SessionDTO>> getSessionsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) UUID filmId,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") Date date
+    ) {
+        return ResponseEntity.ok(sessionService.getSessions(cursor, size, filmId, date));
     }
 
     @PostMapping
@@ -1,9 +1,11 @@
 package com.absolute.cinema.controller;
 
+import com.absolute.cinema.common.security.UserPrincipal;
+import com.absolute.cinema.dto.CreateReservationDTO;
 import com.absolute.cinema.dto.TicketDTO;
 import com.absolute.cinema.entity.Ticket;
-import com.absolute.cinema.entity.User;
 import com.absolute.cinema.service.TicketService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -27,10 +29,19 @@ public class TicketController {
         return ResponseEntity.ok(ticketService.getTicketsForSession(sessionId, status));
     }
 
+    @PostMapping("/sessions/{sessionId}/reservations")
+    public ResponseEntity<List<TicketDTO>> reserveTickets(
+            @PathVariable UUID sessionId,
+            @RequestBody @Valid CreateReservationDTO createReservationDTO,
+            @AuthenticationPrincipal UserPrincipal user
+    ) {
+        return ResponseEntity.ok(ticketService.reserveTickets(sessionId, createReservationDTO.ticketIds(), user));
+    }
+
     @PostMapping("/tickets/{id}/reserve")
     public ResponseEntity<TicketDTO> reserveTicket(
             @PathVariable UUID id,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal UserPrincipal user
     ) {
         return ResponseEntity.ok(ticketService.reserveTicket(id, user));
     }
@@ -38,7 +49,7 @@ public class TicketController {
     @PostMapping("/tickets/{id}/cancel-reservation")
     public ResponseEntity<TicketDTO> cancelReservation(
             @PathVariable UUID id,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal UserPrincipal user
     ) {
         return ResponseEntity.ok(ticketService.cancelReserveForTicket(id, user));
     }
@@ -1,8 +1,8 @@
 package com.absolute.cinema.controller;
 
+import com.absolute.cinema.common.security.UserPrincipal;
 import com.absolute.cinema.dto.UpdateUserDTO;
 import com.absolute.cinema.dto.UserDTO;
-import com.absolute.cinema.entity.User;
 import com.absolute.cinema.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -22,17 +22,17 @@ public class UserController {
 
     @GetMapping("/me")
     public ResponseEntity<UserDTO> getCurrentUser(
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal UserPrincipal user
     ) {
-        return ResponseEntity.ok(userService.getUserById(user.getId()));
+        return ResponseEntity.ok(userService.getUserById(user.id()));
     }
 
     @PutMapping("/me")
     public ResponseEntity<UserDTO> updateCurrentUser(
             @RequestBody @Valid UpdateUserDTO updateUserDTO,
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal UserPrincipal user
     ) {
-        return ResponseEntity.ok(userService.updateUser(user.getId(), updateUserDTO));
+        return ResponseEntity.ok(userService.updateUser(user.id(), updateUserDTO));
     }
 
     @GetMapping("/{id}")
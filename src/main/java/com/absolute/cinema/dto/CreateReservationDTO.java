@@ -0,0 +1,15 @@
+package com.absolute.cinema.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record CreateReservationDTO(
+
+        @NotEmpty(message = "At least one ticket must be reserved")
+        @Size(max = 10, message = "At most 10 tickets can be reserved at once")
+        List<UUID> ticketIds
+) {
+}
@@ -0,0 +1,8 @@
+package com.absolute.cinema.dto;
+
+public record CursorPageDTO(
+        Integer limit,
+        String nextCursor,
+        Boolean hasNext
+) {
+}
@@ -0,0 +1,9 @@
+package com.absolute.cinema.dto;
+
+import java.util.List;
+
+public record CursorPagedListDTO<T>(
+        List<T> data,
+        CursorPageDTO pagination
+) {
+}
@@ -1,9 +1,32 @@
 package com.absolute.cinema.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record PageDTO(
         Integer page,
         Integer limit,
         Integer total,
-        Integer pages
+        Integer pages,
+        Boolean hasNext
 ) {
+    public PageDTO(Integer page, Integer limit, Integer total, Integer pages) {
+        this(page, limit, total, pages, null);
+    }
+
+    public static PageDTO of(Slice<?> slice) {
+        if (slice instanceof Page<?> page) {
+            return new PageDTO(
+                    page.getNumber(),
+                    page.getSize(),
+                    (int) page.getTotalElements(),
+                    page.getTotalPages(),
+                    page.hasNext()
+            );
+        }
+
+        return new PageDTO(slice.getNumber(), slice.getSize(), null, null, slice.hasNext());
+    }
 }
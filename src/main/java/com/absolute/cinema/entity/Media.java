@@ -33,8 +33,14 @@ public class Media {
     @Column(name = "media_type", nullable = false)
     private MediaType mediaType;
 
-    @Column(name = "content", nullable = false, columnDefinition = "bytea")
-    private byte[] content;
+    @Column(name = "storage_key", length = 128)
+    private String storageKey;
+
+    @Column(name = "size_bytes")
+    private Long sizeBytes;
+
+    @Column(name = "sha256", length = 64)
+    private String sha256;
 
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -36,4 +36,7 @@ public class Session {
 
     @Column(name = "slot_end_at", nullable = false)
     private OffsetDateTime slotEndAt;
+
+    @Column(name = "lazy_tickets", nullable = false)
+    private boolean lazyTickets;
 }
@@ -19,8 +19,8 @@ public class Token {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @Column(name = "access_token")
-    private String accessToken;
+    @Column(name = "token_digest", nullable = false, unique = true)
+    private byte[] tokenDigest;
 
     @Column(name = "is_logged_out")
     private boolean loggedOut;
@@ -26,11 +26,11 @@ public interface SessionMapper {
 
     @Named("createTimeslot")
     default TimeslotDTO createTimeslot(Session session) {
-        if (session.getStartAt() == null) {
+        if (session.getSlotStartAt() == null || session.getSlotEndAt() == null) {
             return null;
         }
-        Date start = Date.from(session.getStartAt().toInstant());
-        Date end = Date.from(session.getStartAt().plusMinutes(session.getFilm().getDurationMinutes()).toInstant());
+        Date start = Date.from(session.getSlotStartAt().toInstant());
+        Date end = Date.from(session.getSlotEndAt().toInstant());
         return new TimeslotDTO(start, end);
     }
 }
\ No newline at end of file
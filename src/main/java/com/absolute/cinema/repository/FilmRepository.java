@@ -1,6 +1,12 @@
 package com.absolute.cinema.repository;
 
 import com.absolute.cinema.entity.Film;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -8,4 +14,6 @@ import java.util.UUID;
 
 @Repository
 public interface FilmRepository extends JpaRepository<Film, UUID> {
+    Slice<Film> findSliceBy(Pageable pageable);
+    Window<Film> findAllBy(ScrollPosition position, Sort sort, Limit limit);
 }
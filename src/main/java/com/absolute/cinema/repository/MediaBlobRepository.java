@@ -0,0 +1,81 @@
+package com.absolute.cinema.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Reference counts of stored blobs, one row per blob shared by every media row that points at it.
+ * Rows are never deleted when their last reference goes away; {@link #collectUnreferenced} removes them,
+ * together with their files, once they have stayed unreferenced for a grace period.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MediaBlobRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Commits an unreferenced row for the blob, so that a file published by a transaction that later
+     * rolls back is still known to the garbage collector.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void register(String storageKey, long sizeBytes) {
+        jdbcTemplate.update("""
+                INSERT INTO media_blobs (storage_key, size_bytes, ref_count, released_at)
+                VALUES (?, ?, 0, CURRENT_TIMESTAMP)
+                ON CONFLICT (storage_key) DO NOTHING
+                """, storageKey, sizeBytes);
+    }
+
+    /**
+     * Takes one reference. The row stays locked until the surrounding transaction ends, so the blob
+     * cannot be collected while its file is being published.
+     */
+    public void acquire(String storageKey, long sizeBytes) {
+        jdbcTemplate.update("""
+                INSERT INTO media_blobs (storage_key, size_bytes, ref_count)
+                VALUES (?, ?, 1)
+                ON CONFLICT (storage_key) DO UPDATE SET ref_count = media_blobs.ref_count + 1
+                """, storageKey, sizeBytes);
+    }
+
+    public void release(String storageKey) {
+        jdbcTemplate.update("""
+                UPDATE media_blobs
+                SET ref_count = ref_count - 1,
+                    released_at = CASE WHEN ref_count = 1 THEN CURRENT_TIMESTAMP ELSE released_at END
+                WHERE storage_key = ?
+                """, storageKey);
+    }
+
+    /**
+     * Deletes blobs that have had no references for at least {@code graceMs}. Rows locked by a concurrent
+     * {@link #acquire} are skipped, and a row is only removed once {@code deleteFiles} reports success.
+     *
+     * @return the number of collected blobs
+     */
+    @Transactional
+    public int collectUnreferenced(long graceMs, int limit, Predicate<String> deleteFiles) {
+        List<String> keys = jdbcTemplate.queryForList("""
+                SELECT storage_key FROM media_blobs
+                WHERE ref_count = 0 AND released_at < CURRENT_TIMESTAMP - ? * INTERVAL '1 millisecond'
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+                """, String.class, graceMs, limit);
+
+        int collected = 0;
+        for (String key : keys) {
+            if (deleteFiles.test(key)) {
+                collected += jdbcTemplate.update("DELETE FROM media_blobs WHERE storage_key = ?", key);
+            }
+        }
+
+        return collected;
+    }
+}
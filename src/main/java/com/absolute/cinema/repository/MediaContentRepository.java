@@ -0,0 +1,55 @@
+package com.absolute.cinema.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Access to media content still kept in the legacy {@code media_content} table until it is moved to the blob store.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MediaContentRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MediaBlobRepository mediaBlobRepository;
+
+    public List<UUID> findIdsWithContent(int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT media_id FROM media_content LIMIT ?", UUID.class, limit);
+    }
+
+    public Optional<byte[]> findContent(UUID id) {
+        return jdbcTemplate.query(
+                "SELECT content FROM media_content WHERE media_id = ?",
+                rs -> rs.next() ? Optional.ofNullable(rs.getBytes(1)) : Optional.empty(),
+                id
+        );
+    }
+
+    /**
+     * Points the media row at its stored blob and drops the legacy content. The blob reference is taken
+     * before {@code publish} runs, so the published file cannot be collected before the row commits.
+     *
+     * @return {@code false} if the content was already moved by someone else
+     */
+    @Transactional
+    public boolean clearContent(UUID id, String storageKey, long sizeBytes, String sha256, Runnable publish) {
+        if (jdbcTemplate.update("DELETE FROM media_content WHERE media_id = ?", id) == 0) {
+            return false;
+        }
+
+        mediaBlobRepository.acquire(storageKey, sizeBytes);
+        publish.run();
+        jdbcTemplate.update(
+                "UPDATE media SET storage_key = ?, size_bytes = ?, sha256 = ? WHERE id = ?",
+                storageKey, sizeBytes, sha256, id
+        );
+        return true;
+    }
+}
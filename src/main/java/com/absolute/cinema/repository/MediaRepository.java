@@ -2,10 +2,28 @@ package com.absolute.cinema.repository;
 
 import com.absolute.cinema.entity.Media;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface MediaRepository extends JpaRepository<Media, UUID> {
+
+    @Query("select m.mediaType from Media m where m.id = :id")
+    Optional<Media.MediaType> findMediaTypeById(@Param("id") UUID id);
+
+    @Query("""
+            select m.storageKey as storageKey, m.sizeBytes as sizeBytes, m.sha256 as sha256
+            from Media m where m.id = :id
+            """)
+    Optional<StoredContent> findStoredContentById(@Param("id") UUID id);
+
+    interface StoredContent {
+        String getStorageKey();
+        Long getSizeBytes();
+        String getSha256();
+    }
 }
\ No newline at end of file
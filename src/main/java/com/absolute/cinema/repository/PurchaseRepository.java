@@ -1,8 +1,13 @@
 package com.absolute.cinema.repository;
 
 import com.absolute.cinema.entity.Purchase;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,4 +16,6 @@ import java.util.UUID;
 @Repository
 public interface PurchaseRepository extends JpaRepository<Purchase, UUID> {
     Page<Purchase> findByClientId(UUID clientId, Pageable pageable);
+    Slice<Purchase> findSliceByClientId(UUID clientId, Pageable pageable);
+    Window<Purchase> findByClientId(UUID clientId, ScrollPosition position, Sort sort, Limit limit);
 }
\ No newline at end of file
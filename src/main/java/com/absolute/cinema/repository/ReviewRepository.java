@@ -1,8 +1,13 @@
 package com.absolute.cinema.repository;
 
 import com.absolute.cinema.entity.Review;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,5 +17,7 @@ import java.util.UUID;
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, UUID> {
     Page<Review> findByFilm_Id(UUID filmId, Pageable pageable);
+    Slice<Review> findSliceByFilm_Id(UUID filmId, Pageable pageable);
+    Window<Review> findByFilm_Id(UUID filmId, ScrollPosition position, Sort sort, Limit limit);
     boolean existsByFilm_IdAndClient_Id(UUID filmId, UUID clientId);
 }
@@ -1,6 +1,7 @@
 package com.absolute.cinema.repository;
 
 import com.absolute.cinema.entity.Seat;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Repository;
@@ -11,6 +12,9 @@ import java.util.UUID;
 @Repository
 public interface SeatRepository extends JpaRepository<Seat, UUID> {
     List<Seat> findByHallId(UUID hallId);
+
+    @EntityGraph(attributePaths = "category")
+    List<Seat> findByHallIdOrderByRowAscNumberAsc(UUID hallId);
     
     @Modifying
     void deleteByHallId(UUID hallId);
@@ -1,9 +1,16 @@
 package com.absolute.cinema.repository;
 
 import com.absolute.cinema.entity.Session;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.OffsetDateTime;
@@ -12,9 +19,34 @@ import java.util.UUID;
 
 @Repository
 public interface SessionRepository extends JpaRepository<Session, UUID> {
-    List<Session> findByHallIdAndStartAtBetween(UUID hallId, OffsetDateTime start, OffsetDateTime end);
+    @Query("select s.id as id, s.slotStartAt as slotStartAt, s.slotEndAt as slotEndAt from Session s where s.hall.id = :hallId")
+    List<SessionSlot> findSlotsByHallId(@Param("hallId") UUID hallId);
+
+    @Query(value = """
+            UPDATE sessions
+            SET slot_end_at = slot_start_at + :durationMinutes * INTERVAL '1 minute'
+            WHERE film_id = :filmId
+            RETURNING hall_id
+            """, nativeQuery = true)
+    List<UUID> resizeSlotsByFilmId(@Param("filmId") UUID filmId, @Param("durationMinutes") int durationMinutes);
 
     Page<Session> findByFilmId(UUID filmId, Pageable pageable);
     Page<Session> findByStartAtBetween(OffsetDateTime startDate, OffsetDateTime endDate, Pageable pageable);
     Page<Session> findByFilmIdAndStartAtBetween(UUID filmId, OffsetDateTime startDate, OffsetDateTime endDate, Pageable pageable);
+
+    Slice<Session> findSliceBy(Pageable pageable);
+    Slice<Session> findSliceByFilmId(UUID filmId, Pageable pageable);
+    Slice<Session> findSliceByStartAtBetween(OffsetDateTime startDate, OffsetDateTime endDate, Pageable pageable);
+    Slice<Session> findSliceByFilmIdAndStartAtBetween(UUID filmId, OffsetDateTime startDate, OffsetDateTime endDate, Pageable pageable);
+
+    Window<Session> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+    Window<Session> findByFilmId(UUID filmId, ScrollPosition position, Sort sort, Limit limit);
+    Window<Session> findByStartAtBetween(OffsetDateTime startDate, OffsetDateTime endDate, ScrollPosition position, Sort sort, Limit limit);
+    Window<Session> findByFilmIdAndStartAtBetween(UUID filmId, OffsetDateTime startDate, OffsetDateTime endDate, ScrollPosition position, Sort sort, Limit limit);
+
+    interface SessionSlot {
+        UUID getId();
+        OffsetDateTime getSlotStartAt();
+        OffsetDateTime getSlotEndAt();
+    }
 }
\ No newline at end of file
@@ -2,8 +2,14 @@ package com.absolute.cinema.repository;
 
 import com.absolute.cinema.entity.Ticket;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,4 +19,105 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
     List<Ticket> findBySessionId(UUID sessionId);
     List<Ticket> findBySessionIdAndStatus(UUID sessionId, Ticket.Status status);
     boolean existsBySession_Film_IdAndStatusAndPurchase_Client_Id(UUID filmId, Ticket.Status status, UUID userId);
-}
\ No newline at end of file
+
+    @Query(value = """
+            INSERT INTO tickets (id, session_id, seat_id, category_id, price_cents, status, reserved_until, reserved_by_user_id)
+            SELECT md5(ss.id::text || s.id::text)::uuid, ss.id, s.id, s.category_id, c.price_cents, 'RESERVED',
+                   :reservedUntil, :userId
+            FROM sessions ss
+            JOIN seats s ON s.hall_id = ss.hall_id
+            JOIN seat_categories c ON c.id = s.category_id
+            WHERE ss.id = :sessionId AND ss.lazy_tickets AND md5(ss.id::text || s.id::text)::uuid IN (:ids)
+            ON CONFLICT (session_id, seat_id) DO NOTHING
+            RETURNING id
+            """, nativeQuery = true)
+    List<UUID> materializeReserved(
+            @Param("sessionId") UUID sessionId,
+            @Param("ids") Collection<UUID> ids,
+            @Param("userId") UUID userId,
+            @Param("reservedUntil") OffsetDateTime reservedUntil
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            INSERT INTO tickets (id, session_id, seat_id, category_id, price_cents, status)
+            SELECT gen_random_uuid(), ss.id, s.id, s.category_id, c.price_cents, 'AVAILABLE'
+            FROM sessions ss
+            JOIN seats s ON s.hall_id = ss.hall_id
+            JOIN seat_categories c ON c.id = s.category_id
+            WHERE ss.id IN (:sessionIds)
+            """, nativeQuery = true)
+    int insertTicketsForSessions(@Param("sessionIds") Collection<UUID> sessionIds);
+
+    @Modifying
+    @Query(value = """
+            UPDATE tickets
+            SET status = 'RESERVED', reserved_until = :reservedUntil, reserved_by_user_id = :userId
+            WHERE id = :id AND status = 'AVAILABLE'
+            """, nativeQuery = true)
+    int reserveIfAvailable(
+            @Param("id") UUID id,
+            @Param("userId") UUID userId,
+            @Param("reservedUntil") OffsetDateTime reservedUntil
+    );
+
+    @Query(value = """
+            UPDATE tickets
+            SET status = 'RESERVED', reserved_until = :reservedUntil, reserved_by_user_id = :userId
+            WHERE session_id = :sessionId AND id IN (:ids) AND status = 'AVAILABLE'
+            RETURNING id
+            """, nativeQuery = true)
+    List<UUID> reserveAvailable(
+            @Param("sessionId") UUID sessionId,
+            @Param("ids") Collection<UUID> ids,
+            @Param("userId") UUID userId,
+            @Param("reservedUntil") OffsetDateTime reservedUntil
+    );
+
+    @Transactional
+    @Query(value = """
+            UPDATE tickets
+            SET status = 'AVAILABLE', reserved_until = NULL, reserved_by_user_id = NULL
+            WHERE id IN (
+                SELECT id FROM tickets
+                WHERE status = 'RESERVED' AND reserved_until < :now AND purchase_id IS NULL
+                ORDER BY reserved_until
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id AS "id", session_id AS "sessionId"
+            """, nativeQuery = true)
+    List<ReleasedTicket> releaseExpiredReservations(
+            @Param("now") OffsetDateTime now,
+            @Param("batchSize") int batchSize
+    );
+
+    @Transactional
+    @Query(value = """
+            UPDATE tickets
+            SET status = 'AVAILABLE', reserved_until = NULL, reserved_by_user_id = NULL
+            WHERE id IN (:ids) AND status = 'RESERVED' AND reserved_until <= :now AND purchase_id IS NULL
+            RETURNING id AS "id", session_id AS "sessionId"
+            """, nativeQuery = true)
+    List<ReleasedTicket> releaseExpiredReservations(
+            @Param("ids") Collection<UUID> ids,
+            @Param("now") OffsetDateTime now
+    );
+
+    @Query("""
+            select t.id as id, t.reservedUntil as reservedUntil from Ticket t
+            where t.status = com.absolute.cinema.entity.Ticket.Status.RESERVED
+            and t.reservedUntil is not null and t.purchase is null
+            """)
+    List<ActiveReservation> findActiveReservations();
+
+    interface ReleasedTicket {
+        UUID getId();
+        UUID getSessionId();
+    }
+
+    interface ActiveReservation {
+        UUID getId();
+        OffsetDateTime getReservedUntil();
+    }
+}
@@ -0,0 +1,105 @@
+package com.absolute.cinema.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Repository
+@RequiredArgsConstructor
+public class TokenPartitionRepository {
+
+    private static final String PREFIX = "tokens_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Runs {@code maintenance} on a single connection that holds a session-level advisory lock, so only one
+     * instance maintains partitions at a time.
+     *
+     * @return {@code false} if another instance holds the lock and nothing was run
+     */
+    public boolean withMaintenanceLock(Consumer<TokenPartitionRepository> maintenance) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            JdbcTemplate locked = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            if (!Boolean.TRUE.equals(locked.queryForObject(
+                    "SELECT pg_try_advisory_lock(hashtext('tokens_partitions'))", Boolean.class))) {
+                return false;
+            }
+
+            try {
+                maintenance.accept(new TokenPartitionRepository(locked));
+                return true;
+            } finally {
+                locked.queryForObject("SELECT pg_advisory_unlock(hashtext('tokens_partitions'))", Boolean.class);
+            }
+        }));
+    }
+
+    public List<LocalDate> findPartitionDays() {
+        return jdbcTemplate.queryForList("""
+                        SELECT c.relname
+                        FROM pg_inherits i
+                        JOIN pg_class c ON c.oid = i.inhrelid
+                        WHERE i.inhparent = 'tokens'::regclass AND c.relname LIKE 'tokens\\_p%'
+                        """, String.class).stream()
+                .map(name -> LocalDate.parse(name.substring(PREFIX.length()), SUFFIX))
+                .toList();
+    }
+
+    /**
+     * Creates the partition for {@code day} and moves the rows of that day out of the default partition,
+     * which would otherwise make attaching it fail. Runs as a single statement, so it either fully succeeds
+     * or leaves everything as it was.
+     */
+    public void createPartition(LocalDate day) {
+        jdbcTemplate.execute(String.format("""
+                DO $$
+                BEGIN
+                    CREATE TABLE %1$s (LIKE tokens INCLUDING DEFAULTS);
+
+                    WITH moved AS (
+                        DELETE FROM tokens_default
+                        WHERE expiration_date >= '%2$s' AND expiration_date < '%3$s'
+                        RETURNING *
+                    )
+                    INSERT INTO %1$s SELECT * FROM moved;
+
+                    ALTER TABLE tokens ATTACH PARTITION %1$s FOR VALUES FROM ('%2$s') TO ('%3$s');
+                END $$
+                """, partitionName(day), day, day.plusDays(1)));
+    }
+
+    /**
+     * Detaches and drops the partition for {@code day}. {@code DETACH ... CONCURRENTLY} is not allowed while
+     * {@code tokens} has a default partition, so a short lock timeout keeps the detach from queueing
+     * token lookups behind it; a timed out day is retried on the next run.
+     */
+    public void dropPartition(LocalDate day) {
+        jdbcTemplate.execute(String.format("""
+                DO $$
+                BEGIN
+                    SET LOCAL lock_timeout = '2s';
+                    ALTER TABLE tokens DETACH PARTITION %1$s;
+                    DROP TABLE IF EXISTS %1$s;
+                END $$
+                """, partitionName(day)));
+    }
+
+    public int deleteExpiredFromDefault(Instant now) {
+        return jdbcTemplate.update("DELETE FROM tokens_default WHERE expiration_date < ?", Timestamp.from(now));
+    }
+
+    private String partitionName(LocalDate day) {
+        return PREFIX + day.format(SUFFIX);
+    }
+}
@@ -2,9 +2,13 @@ package com.absolute.cinema.repository;
 
 import com.absolute.cinema.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,4 +16,12 @@ import java.util.UUID;
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(@Param("email") String email);
     Boolean existsByEmail(@Param("email") String email);
+
+    @Query("select u.tokensValidAfter from User u where u.id = :id")
+    Optional<Instant> findTokensValidAfterById(@Param("id") UUID id);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE users SET tokens_valid_after = :validAfter WHERE id = :id", nativeQuery = true)
+    int updateTokensValidAfter(@Param("id") UUID id, @Param("validAfter") Instant validAfter);
 }
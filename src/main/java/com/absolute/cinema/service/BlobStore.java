@@ -0,0 +1,35 @@
+package com.absolute.cinema.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage: content is first staged, which computes its SHA-256, and then published under
+ * that digest, so identical content is kept once. Callers take their reference between the two steps.
+ * Derived content, such as image variants, is stored under an explicit key with {@link #put}.
+ */
+public interface BlobStore {
+    StagedBlob stage(InputStream content) throws IOException;
+    void publish(StagedBlob blob) throws IOException;
+    void discard(StagedBlob blob);
+    StoredBlob put(String key, InputStream content) throws IOException;
+    boolean exists(String key);
+    long size(String key) throws IOException;
+    InputStream open(String key) throws IOException;
+    long transferTo(String key, long position, long count, WritableByteChannel target) throws IOException;
+
+    /**
+     * @return the file holding the blob, if the store keeps blobs on the local file system
+     */
+    Optional<Path> file(String key);
+    void delete(String key) throws IOException;
+
+    record StagedBlob(String stagingKey, long sizeBytes, String sha256) {
+    }
+
+    record StoredBlob(long sizeBytes, String sha256) {
+    }
+}
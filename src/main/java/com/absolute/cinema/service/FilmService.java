@@ -1,6 +1,7 @@
 package com.absolute.cinema.service;
 
 import com.absolute.cinema.dto.CreateFilmDTO;
+import com.absolute.cinema.dto.CursorPagedListDTO;
 import com.absolute.cinema.dto.FilmDTO;
 import com.absolute.cinema.dto.FilmPagedListDTO;
 import com.absolute.cinema.dto.UpdateFilmDTO;
@@ -8,7 +9,8 @@ import com.absolute.cinema.dto.UpdateFilmDTO;
 import java.util.UUID;
 
 public interface FilmService {
-    FilmPagedListDTO getFilms(Integer page, Integer limit);
+    FilmPagedListDTO getFilms(Integer page, Integer limit, boolean withTotal);
+    CursorPagedListDTO<FilmDTO> getFilms(String cursor, Integer limit);
     FilmDTO createFilm(CreateFilmDTO createFilmDTO);
     FilmDTO getFilmById(UUID id);
     FilmDTO updateFilm(UUID id, UpdateFilmDTO updateFilmDTO);
@@ -4,11 +4,41 @@ import com.absolute.cinema.dto.MediaDTO;
 import com.absolute.cinema.entity.Media;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface MediaService {
     MediaDTO uploadMedia(MultipartFile file, Media.MediaType mediaType);
     Media getMediaById(UUID id);
+    MediaVersion getMediaVersion(UUID id, Integer width);
+    MediaContent getMediaContent(MediaVersion version);
+    Media getMediaReference(UUID id);
+    Media.MediaType getMediaTypeById(UUID id);
+    long transferContent(MediaContent content, long position, long count, WritableByteChannel target) throws IOException;
+    Optional<Path> getContentFile(MediaContent content);
     MediaDTO getMediaDTOById(UUID id);
     void deleteMedia(UUID id);
+
+    /**
+     * Validators of a requested representation, available without moving legacy content or generating variants.
+     */
+    record MediaVersion(
+            Media media,
+            Integer width,
+            String etag,
+            Date lastModified
+    ) {
+    }
+
+    record MediaContent(
+            String storageKey,
+            String filename,
+            String contentType,
+            long sizeBytes
+    ) {
+    }
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.absolute.cinema.service;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public interface ReservationExpiryService {
+    void schedule(UUID ticketId, OffsetDateTime reservedUntil);
+    int releaseExpiredReservations();
+}
@@ -1,5 +1,6 @@
 package com.absolute.cinema.service;
 
+import com.absolute.cinema.dto.CursorPagedListDTO;
 import com.absolute.cinema.dto.review.ReviewCreateDTO;
 import com.absolute.cinema.dto.review.ReviewDTO;
 import com.absolute.cinema.dto.review.ReviewPagedListDTO;
@@ -8,7 +9,8 @@ import com.absolute.cinema.dto.review.ReviewUpdateDTO;
 import java.util.UUID;
 
 public interface ReviewService {
-    ReviewPagedListDTO getFilmReviews(UUID filmId, int page, int size);
+    ReviewPagedListDTO getFilmReviews(UUID filmId, int page, int size, boolean withTotal);
+    CursorPagedListDTO<ReviewDTO> getFilmReviews(UUID filmId, String cursor, int size);
     ReviewDTO getById(UUID id);
     ReviewDTO create(UUID filmId, ReviewCreateDTO dto);
     ReviewDTO update(UUID id, ReviewUpdateDTO dto);
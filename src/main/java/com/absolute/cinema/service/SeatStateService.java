@@ -0,0 +1,15 @@
+package com.absolute.cinema.service;
+
+import com.absolute.cinema.dto.TicketDTO;
+import com.absolute.cinema.entity.Ticket;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface SeatStateService {
+    List<TicketDTO> getTickets(UUID sessionId, Ticket.Status status);
+    void apply(Collection<Ticket> tickets);
+    void release(UUID sessionId, Collection<UUID> ticketIds);
+    void evict(UUID sessionId);
+}
@@ -1,6 +1,7 @@
 package com.absolute.cinema.service;
 
 import com.absolute.cinema.dto.CreateSessionDTO;
+import com.absolute.cinema.dto.CursorPagedListDTO;
 import com.absolute.cinema.dto.EditSessionDTO;
 import com.absolute.cinema.dto.SessionDTO;
 import com.absolute.cinema.dto.SessionPagedListDTO;
@@ -9,9 +10,11 @@ import java.util.Date;
 import java.util.UUID;
 
 public interface SessionService {
-    SessionPagedListDTO getSessions(int page, int size, UUID filmId, Date date);
+    SessionPagedListDTO getSessions(int page, int size, boolean withTotal, UUID filmId, Date date);
+    CursorPagedListDTO<SessionDTO> getSessions(String cursor, int size, UUID filmId, Date date);
     SessionDTO createSession(CreateSessionDTO createSessionDTO);
     SessionDTO getSession(UUID id);
     SessionDTO editSession(UUID id, EditSessionDTO editSessionDTO);
     void deleteSession(UUID id);
+    void resizeFilmSessions(UUID filmId, int durationMinutes);
 }
@@ -0,0 +1,13 @@
+package com.absolute.cinema.service;
+
+import com.absolute.cinema.entity.Session;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public interface SessionSlotIndex {
+    void validate(UUID hallId, UUID sessionId, OffsetDateTime slotStartAt, OffsetDateTime slotEndAt);
+    void put(Session session);
+    void remove(UUID sessionId);
+    void evict(UUID hallId);
+}
@@ -1,17 +1,20 @@
 package com.absolute.cinema.service;
 
+import com.absolute.cinema.common.security.UserPrincipal;
 import com.absolute.cinema.dto.TicketDTO;
 import com.absolute.cinema.entity.Session;
 import com.absolute.cinema.entity.Ticket;
-import com.absolute.cinema.entity.User;
 
 import java.util.List;
 import java.util.UUID;
 
 public interface TicketService {
+    boolean isLazyMaterialization();
     void createTicketsForSession(Session session);
+    void createTicketsForSessions(List<UUID> sessionIds);
     void deleteTicketsBySessionId(UUID sessionId);
     List<TicketDTO> getTicketsForSession(UUID sessionId, Ticket.Status status);
-    TicketDTO reserveTicket(UUID id, User user);
-    TicketDTO cancelReserveForTicket(UUID id, User user);
+    TicketDTO reserveTicket(UUID id, UserPrincipal user);
+    List<TicketDTO> reserveTickets(UUID sessionId, List<UUID> ticketIds, UserPrincipal user);
+    TicketDTO cancelReserveForTicket(UUID id, UserPrincipal user);
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.absolute.cinema.common.exception.custom.BadRequestException;
 import com.absolute.cinema.common.exception.custom.NotFoundException;
 import com.absolute.cinema.common.exception.custom.UnauthorizedException;
 import com.absolute.cinema.common.security.JwtTokenService;
+import com.absolute.cinema.common.security.UserPrincipal;
 import com.absolute.cinema.dto.AuthResponseDTO;
 import com.absolute.cinema.dto.LoginRequestDTO;
 import com.absolute.cinema.dto.RegisterRequestDTO;
@@ -16,10 +17,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Set;
 
@@ -36,39 +37,43 @@ public class AuthServiceImpl implements AuthService {
     @Override
     public AuthResponseDTO login(LoginRequestDTO request) {
         try {
-            Authentication authentication = authenticationManager.authenticate(
+            authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             request.email(),
                             request.password()
                     )
             );
+        } catch (AuthenticationException e) {
+            throw new UnauthorizedException("Invalid credentials");
+        }
 
-            User user = userRepository.findByEmail(request.email())
-                    .orElseThrow(() -> new UnauthorizedException("Invalid credentials"));
+        User user = userRepository.findByEmail(request.email())
+                .orElseThrow(() -> new UnauthorizedException("Invalid credentials"));
 
-            String accessToken = jwtTokenService.generateToken(user);
+        String accessToken = jwtTokenService.generateToken(user);
 
-            jwtTokenService.saveToken(user, accessToken);
+        jwtTokenService.saveToken(user, accessToken);
 
-            return new AuthResponseDTO(accessToken);
-        } catch (Exception e) {
-            throw new UnauthorizedException("Invalid credentials");
-        }
+        return new AuthResponseDTO(accessToken);
     }
 
     @Override
     public void logout() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
-        if (authentication != null && authentication.getPrincipal() instanceof User user) {
-            jwtTokenService.revokeAllTokens(user);
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            jwtTokenService.revokeAllTokens(principal.id());
         }
 
         SecurityContextHolder.clearContext();
     }
 
+    /**
+     * Not transactional on purpose: hashing waits in the bounded hashing queue, and holding a pooled
+     * connection meanwhile would let a burst of registrations starve every other request of connections.
+     * The user and the token are saved in their own short transactions after the hash is ready.
+     */
     @Override
-    @Transactional
     public AuthResponseDTO register(RegisterRequestDTO request) {
         if (userRepository.findByEmail(request.email()).isPresent()) {
             throw new BadRequestException("User with email " + request.email() + " already exists");
@@ -77,9 +82,11 @@ public class AuthServiceImpl implements AuthService {
         Role userRole = roleRepository.findByRole(Role.RoleType.USER)
                 .orElseThrow(() -> new NotFoundException("Default USER role not found"));
 
+        String encodedPassword = passwordEncoder.encode(request.password());
+
         User user = new User();
         user.setEmail(request.email());
-        user.setPassword(passwordEncoder.encode(request.password()));
+        user.setPassword(encodedPassword);
         user.setFirstName(request.firstName());
         user.setLastName(request.lastName());
         user.setAge(request.age());
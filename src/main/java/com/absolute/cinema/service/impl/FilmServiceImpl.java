@@ -2,6 +2,7 @@ package com.absolute.cinema.service.impl;
 
 import com.absolute.cinema.common.exception.custom.BadRequestException;
 import com.absolute.cinema.common.exception.custom.NotFoundException;
+import com.absolute.cinema.common.pagination.Cursor;
 import com.absolute.cinema.dto.*;
 import com.absolute.cinema.entity.Film;
 import com.absolute.cinema.entity.Media;
@@ -9,12 +10,18 @@ import com.absolute.cinema.mapper.FilmMapper;
 import com.absolute.cinema.repository.FilmRepository;
 import com.absolute.cinema.service.FilmService;
 import com.absolute.cinema.service.MediaService;
+import com.absolute.cinema.service.SessionService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -26,32 +33,53 @@ public class FilmServiceImpl implements FilmService {
     private final FilmRepository filmRepository;
     private final FilmMapper filmMapper;
     private final MediaService mediaService;
+    private final SessionService sessionService;
 
     @Override
-    public FilmPagedListDTO getFilms(Integer page, Integer limit) {
+    public FilmPagedListDTO getFilms(Integer page, Integer limit, boolean withTotal) {
 
         if (page < 0) throw new BadRequestException("Page index is less than 0");
         if (limit < 1) throw new BadRequestException("Page size is less than 1");
 
         Pageable pageable = PageRequest.of(page, limit);
 
-        Page<Film> filmsPage = filmRepository.findAll(pageable);
+        Slice<Film> filmsPage = withTotal ? filmRepository.findAll(pageable) : filmRepository.findSliceBy(pageable);
 
         List<FilmDTO> filmDTOs = filmsPage.getContent().stream()
                 .map(filmMapper::toDTO)
                 .collect(Collectors.toList());
 
-        PageDTO pageDTO = new PageDTO(
-                page,
+        PageDTO pageDTO = PageDTO.of(filmsPage);
+
+        return new FilmPagedListDTO(filmDTOs, pageDTO);
+    }
+
+    @Override
+    public CursorPagedListDTO<FilmDTO> getFilms(String cursor, Integer limit) {
+
+        if (limit < 1) throw new BadRequestException("Page size is less than 1");
+
+        Window<Film> films = filmRepository.findAllBy(
+                Cursor.position(cursor, "createdAt", Timestamp::from),
+                Sort.by("createdAt", "id"),
+                Limit.of(limit)
+        );
+
+        List<FilmDTO> filmDTOs = films.getContent().stream()
+                .map(filmMapper::toDTO)
+                .toList();
+
+        CursorPageDTO pageDTO = new CursorPageDTO(
                 limit,
-                (int) filmsPage.getTotalElements(),
-                filmsPage.getTotalPages()
+                Cursor.next(films, film -> film.getCreatedAt().toInstant(), Film::getId),
+                films.hasNext()
         );
 
-        return new FilmPagedListDTO(filmDTOs, pageDTO);
+        return new CursorPagedListDTO<>(filmDTOs, pageDTO);
     }
 
     @Override
+    @Transactional
     public FilmDTO createFilm(CreateFilmDTO createFilmDTO) {
         Film film = filmMapper.toFilm(createFilmDTO);
         
@@ -74,12 +102,17 @@ public class FilmServiceImpl implements FilmService {
     }
 
     @Override
+    @Transactional
     public FilmDTO updateFilm(UUID id, UpdateFilmDTO updateFilmDTO) {
 
         Film film = filmRepository.findById(id).orElseThrow(
                 () -> new NotFoundException(String.format("Film with id: %s not found", id))
         );
 
+        if (!film.getDurationMinutes().equals(updateFilmDTO.durationMinutes())) {
+            sessionService.resizeFilmSessions(id, updateFilmDTO.durationMinutes());
+        }
+
         film.setTitle(updateFilmDTO.title());
         film.setDescription(updateFilmDTO.description());
         film.setDurationMinutes(updateFilmDTO.durationMinutes());
@@ -106,12 +139,10 @@ public class FilmServiceImpl implements FilmService {
     }
     
     private Media validatePoster(UUID posterId) {
-        Media media = mediaService.getMediaById(posterId);
-        
-        if (media.getMediaType() != Media.MediaType.IMAGE) {
+        if (mediaService.getMediaTypeById(posterId) != Media.MediaType.IMAGE) {
             throw new BadRequestException("Media with ID " + posterId + " is not an image. Only images can be used as posters.");
         }
         
-        return media;
+        return mediaService.getMediaReference(posterId);
     }
 }
@@ -0,0 +1,179 @@
+package com.absolute.cinema.service.impl;
+
+import com.absolute.cinema.common.exception.custom.ServiceUnavailableException;
+import com.absolute.cinema.common.exception.custom.TooManyRequestsException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Downscales images with the JDK ImageIO codecs. Large reductions are done in halving steps,
+ * which keeps bilinear interpolation from dropping detail.
+ * Resizes run on a small fixed pool with a bounded queue, and images whose header declares more than
+ * {@code media.variant-max-pixels} are never decoded, so variant requests cannot exhaust heap or CPU.
+ */
+@Component
+public class ImageResizer implements DisposableBean {
+
+    private final long maxPixels;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor executor;
+
+    public ImageResizer(
+            @Value("${media.variant-max-pixels}") long maxPixels,
+            @Value("${media.variant-threads}") int threads,
+            @Value("${media.variant-queue-capacity}") int queueCapacity,
+            @Value("${media.variant-timeout-ms}") long timeoutMs
+    ) {
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        this.maxPixels = maxPixels;
+        this.timeoutMs = timeoutMs;
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-resizing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * @return the encoded image, or empty if the format cannot be decoded, the image is not wider than
+     * {@code width} or it exceeds the pixel limit
+     */
+    public Optional<byte[]> resize(InputStream source, int width, String format) {
+        return submit(() -> resizeNow(source, width, format));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private Optional<byte[]> resizeNow(InputStream source, int width, String format) throws IOException {
+        BufferedImage image = read(source, width);
+        if (image == null) {
+            return Optional.empty();
+        }
+
+        int height = Math.max(1, Math.round((float) image.getHeight() * width / image.getWidth()));
+        int type = "png".equals(format) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = image;
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = currentWidth == width ? height : Math.max(height, currentHeight / 2);
+            current = scale(current, currentWidth, currentHeight, type);
+        } while (currentWidth > width);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!ImageIO.write(current, format, out)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(out.toByteArray());
+    }
+
+    /**
+     * Reads the dimensions from the image header and decodes the pixels only if the image is wider than
+     * {@code width} and within the pixel limit.
+     */
+    private BufferedImage read(InputStream source, int width) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+
+                if (sourceWidth <= width || (long) sourceWidth * sourceHeight > maxPixels) {
+                    return null;
+                }
+
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int width, int height, int type) {
+        BufferedImage target = new BufferedImage(width, height, type);
+        Graphics2D graphics = target.createGraphics();
+
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        return target;
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("Too many image resize requests, please retry later");
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceUnavailableException("Image resizing is temporarily unavailable, please retry later");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Image resizing is temporarily unavailable, please retry later");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw new UncheckedIOException(cause);
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.absolute.cinema.service.impl;
+
+import com.absolute.cinema.service.BlobStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Stores each blob as a file under {@code media.storage.path}, sharded by the first two characters of its key.
+ * Writes stream through a fixed-size buffer into a staging file in the root directory that is later
+ * atomically moved into place, so heap use per write is constant and readers never see partial content.
+ * Publishing content that is already present just replaces the file with identical bytes.
+ */
+@Service
+@ConditionalOnProperty(name = "media.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStore implements BlobStore {
+
+    private static final Pattern KEY = Pattern.compile("[A-Za-z0-9_-]{2,128}");
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final Path root;
+
+    public LocalBlobStore(@Value("${media.storage.path}") String root) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public StagedBlob stage(InputStream content) throws IOException {
+        Files.createDirectories(root);
+        Path temp = Files.createTempFile(root, "upload-", ".tmp");
+
+        try {
+            MessageDigest digest = sha256();
+            byte[] chunk = new byte[CHUNK_SIZE];
+            long size = 0;
+
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                int read;
+                while ((read = content.read(chunk)) != -1) {
+                    digest.update(chunk, 0, read);
+                    out.write(chunk, 0, read);
+                    size += read;
+                }
+            }
+
+            return new StagedBlob(temp.getFileName().toString(), size, HexFormat.of().formatHex(digest.digest()));
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    @Override
+    public void publish(StagedBlob blob) throws IOException {
+        move(blob, blob.sha256());
+    }
+
+    @Override
+    public void discard(StagedBlob blob) {
+        try {
+            Files.deleteIfExists(staged(blob));
+        } catch (IOException ignored) {
+            // a leftover staging file only wastes space
+        }
+    }
+
+    @Override
+    public StoredBlob put(String key, InputStream content) throws IOException {
+        StagedBlob blob = stage(content);
+
+        try {
+            move(blob, key);
+            return new StoredBlob(blob.sizeBytes(), blob.sha256());
+        } finally {
+            discard(blob);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.isRegularFile(resolve(key));
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        return Files.size(resolve(key));
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public long transferTo(String key, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ)) {
+            long offset = position;
+            long remaining = count;
+
+            while (remaining > 0) {
+                long transferred = channel.transferTo(offset, remaining, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                offset += transferred;
+                remaining -= transferred;
+            }
+
+            return count - remaining;
+        }
+    }
+
+    @Override
+    public Optional<Path> file(String key) {
+        return Optional.of(resolve(key));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    private void move(StagedBlob blob, String key) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Files.move(staged(blob), target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path staged(StagedBlob blob) {
+        Path path = root.resolve(blob.stagingKey()).normalize();
+        if (!root.equals(path.getParent())) {
+            throw new IllegalArgumentException("Invalid staging key: " + blob.stagingKey());
+        }
+
+        return path;
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private Path resolve(String key) {
+        if (!KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+
+        return root.resolve(key.substring(0, 2)).resolve(key);
+    }
+}
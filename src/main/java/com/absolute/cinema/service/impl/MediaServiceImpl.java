@@ -5,24 +5,65 @@ import com.absolute.cinema.common.exception.custom.NotFoundException;
 import com.absolute.cinema.dto.MediaDTO;
 import com.absolute.cinema.entity.Media;
 import com.absolute.cinema.mapper.MediaMapper;
+import com.absolute.cinema.repository.MediaBlobRepository;
+import com.absolute.cinema.repository.MediaContentRepository;
 import com.absolute.cinema.repository.MediaRepository;
+import com.absolute.cinema.service.BlobStore;
 import com.absolute.cinema.service.MediaService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class MediaServiceImpl implements MediaService {
 
+    private static final Logger logger = LoggerFactory.getLogger(MediaServiceImpl.class);
+
+    private static final long NO_VARIANT = -1;
+    private static final long VARIANT_CACHE_SIZE = 10_000;
+
+    @Value("${media.legacy-migration-batch-size}")
+    private int legacyMigrationBatchSize;
+
+    @Value("${media.blob-gc-grace-ms}")
+    private long blobGcGraceMs;
+
+    @Value("${media.blob-gc-batch-size}")
+    private int blobGcBatchSize;
+
+    @Value("${media.variant-widths}")
+    private Set<Integer> variantWidths;
+
     private final MediaRepository mediaRepository;
+    private final MediaContentRepository mediaContentRepository;
+    private final MediaBlobRepository mediaBlobRepository;
+    private final BlobStore blobStore;
+    private final ImageResizer imageResizer;
     private final MediaMapper mediaMapper;
+    private final Cache<String, Long> variantSizes = Caffeine.newBuilder()
+            .maximumSize(VARIANT_CACHE_SIZE)
+            .build();
 
     private static final List<String> ALLOWED_IMAGE_TYPES = Arrays.asList(
             "image/jpeg", "image/jpg", "image/png", "image/gif", "image/webp"
@@ -43,18 +84,31 @@ public class MediaServiceImpl implements MediaService {
     public MediaDTO uploadMedia(MultipartFile file, Media.MediaType mediaType) {
         validateFile(file, mediaType);
 
+        Media media = new Media();
+        media.setFilename(generateUniqueFilename(file.getOriginalFilename()));
+        media.setContentType(file.getContentType());
+        media.setMediaType(mediaType);
+
+        BlobStore.StagedBlob staged;
+        try (InputStream content = file.getInputStream()) {
+            staged = blobStore.stage(content);
+        } catch (IOException e) {
+            throw new BadRequestException("Failed to process uploaded file");
+        }
+
         try {
-            Media media = new Media();
-            media.setFilename(generateUniqueFilename(file.getOriginalFilename()));
-            media.setContentType(file.getContentType());
-            media.setMediaType(mediaType);
-            media.setContent(file.getBytes());
+            mediaBlobRepository.register(staged.sha256(), staged.sizeBytes());
+            mediaBlobRepository.acquire(staged.sha256(), staged.sizeBytes());
+            publish(staged);
+
+            media.setStorageKey(staged.sha256());
+            media.setSizeBytes(staged.sizeBytes());
+            media.setSha256(staged.sha256());
 
             Media savedMedia = mediaRepository.save(media);
-            
             return mediaMapper.toDTO(savedMedia);
-        } catch (IOException e) {
-            throw new BadRequestException("Failed to process uploaded file");
+        } finally {
+            blobStore.discard(staged);
         }
     }
 
@@ -64,6 +118,69 @@ public class MediaServiceImpl implements MediaService {
                 new NotFoundException("Media not found with ID: " + id));
     }
 
+    @Override
+    public MediaVersion getMediaVersion(UUID id, Integer width) {
+        Media media = getMediaById(id);
+
+        if (width == null) {
+            return new MediaVersion(media, null, media.getSha256(), media.getCreatedAt());
+        }
+
+        if (media.getMediaType() != Media.MediaType.IMAGE) {
+            throw new BadRequestException("Only images can be resized");
+        }
+
+        if (!variantWidths.contains(width)) {
+            throw new BadRequestException("Unsupported width " + width + ". Allowed widths: " + new TreeSet<>(variantWidths));
+        }
+
+        String etag = media.getStorageKey() != null ? variantKey(media.getStorageKey(), width) : null;
+        return new MediaVersion(media, width, etag, media.getCreatedAt());
+    }
+
+    @Override
+    public MediaContent getMediaContent(MediaVersion version) {
+        Media media = getStoredMedia(version.media());
+        MediaContent original = new MediaContent(media.getStorageKey(), media.getFilename(), media.getContentType(),
+                media.getSizeBytes());
+
+        Integer width = version.width();
+        if (width == null) {
+            return original;
+        }
+
+        String format = variantFormat(media.getContentType());
+        String key = variantKey(media.getStorageKey(), width);
+        long size = variantSizes.get(key, k -> loadVariant(media.getStorageKey(), k, width, format));
+
+        if (size == NO_VARIANT) {
+            return original;
+        }
+
+        return new MediaContent(key, variantFilename(media.getFilename(), width, format), "image/" + format, size);
+    }
+
+    @Override
+    public Media getMediaReference(UUID id) {
+        return mediaRepository.getReferenceById(id);
+    }
+
+    @Override
+    public Media.MediaType getMediaTypeById(UUID id) {
+        return mediaRepository.findMediaTypeById(id).orElseThrow(() ->
+                new NotFoundException("Media not found with ID: " + id));
+    }
+
+    @Override
+    public long transferContent(MediaContent content, long position, long count, WritableByteChannel target) throws IOException {
+        return blobStore.transferTo(content.storageKey(), position, count, target);
+    }
+
+    @Override
+    public Optional<Path> getContentFile(MediaContent content) {
+        return blobStore.file(content.storageKey());
+    }
+
     @Override
     public MediaDTO getMediaDTOById(UUID id) {
         Media media = getMediaById(id);
@@ -75,6 +192,130 @@ public class MediaServiceImpl implements MediaService {
     public void deleteMedia(UUID id) {
         Media media = getMediaById(id);
         mediaRepository.delete(media);
+        mediaRepository.flush();
+
+        if (media.getStorageKey() != null) {
+            mediaBlobRepository.release(media.getStorageKey());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${media.legacy-migration-ms}")
+    public void migrateLegacyContent() {
+        for (UUID id : mediaContentRepository.findIdsWithContent(legacyMigrationBatchSize)) {
+            try {
+                moveToBlobStore(id);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to move content of media {} to blob store: {}", id, e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${media.blob-gc-ms}")
+    public void collectUnreferencedBlobs() {
+        int collected;
+        do {
+            collected = mediaBlobRepository.collectUnreferenced(blobGcGraceMs, blobGcBatchSize, this::deleteBlob);
+            if (collected > 0) {
+                logger.info("Deleted {} unreferenced blobs", collected);
+            }
+        } while (collected == blobGcBatchSize);
+    }
+
+    private Media getStoredMedia(Media media) {
+        UUID id = media.getId();
+
+        if (media.getStorageKey() == null) {
+            moveToBlobStore(id);
+
+            MediaRepository.StoredContent stored = mediaRepository.findStoredContentById(id).orElseThrow(() ->
+                    new NotFoundException("Media not found with ID: " + id));
+            media.setStorageKey(stored.getStorageKey());
+            media.setSizeBytes(stored.getSizeBytes());
+            media.setSha256(stored.getSha256());
+        }
+
+        return media;
+    }
+
+    private void moveToBlobStore(UUID id) {
+        try {
+            Optional<byte[]> content = mediaContentRepository.findContent(id);
+            if (content.isEmpty()) {
+                return;
+            }
+
+            BlobStore.StagedBlob staged = blobStore.stage(new ByteArrayInputStream(content.get()));
+            try {
+                mediaBlobRepository.register(staged.sha256(), staged.sizeBytes());
+                mediaContentRepository.clearContent(id, staged.sha256(), staged.sizeBytes(), staged.sha256(),
+                        () -> publish(staged));
+            } finally {
+                blobStore.discard(staged);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to move content of media " + id + " to blob store", e);
+        }
+    }
+
+    private void publish(BlobStore.StagedBlob staged) {
+        try {
+            blobStore.publish(staged);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store blob " + staged.sha256(), e);
+        }
+    }
+
+    private long loadVariant(String sourceKey, String key, int width, String format) {
+        try {
+            if (blobStore.exists(key)) {
+                return blobStore.size(key);
+            }
+
+            Optional<byte[]> resized;
+            try (InputStream source = blobStore.open(sourceKey)) {
+                resized = imageResizer.resize(source, width, format);
+            }
+
+            if (resized.isEmpty()) {
+                return NO_VARIANT;
+            }
+
+            return blobStore.put(key, new ByteArrayInputStream(resized.get())).sizeBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create variant " + key, e);
+        }
+    }
+
+    private String variantKey(String storageKey, int width) {
+        return storageKey + "-w" + width;
+    }
+
+    private String variantFormat(String contentType) {
+        return switch (contentType.toLowerCase()) {
+            case "image/png", "image/gif" -> "png";
+            default -> "jpeg";
+        };
+    }
+
+    private String variantFilename(String filename, int width, String format) {
+        int lastDot = filename.lastIndexOf('.');
+        String name = lastDot > 0 ? filename.substring(0, lastDot) : filename;
+        return name + "-w" + width + ("png".equals(format) ? ".png" : ".jpg");
+    }
+
+    private boolean deleteBlob(String key) {
+        try {
+            for (int width : variantWidths) {
+                String variantKey = variantKey(key, width);
+                variantSizes.invalidate(variantKey);
+                blobStore.delete(variantKey);
+            }
+            blobStore.delete(key);
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to delete blob {}: {}", key, e.getMessage());
+            return false;
+        }
     }
 
     private void validateFile(MultipartFile file, Media.MediaType mediaType) {
@@ -2,19 +2,20 @@ package com.absolute.cinema.service.impl;
 
 import com.absolute.cinema.common.exception.custom.ForbiddenException;
 import com.absolute.cinema.common.exception.custom.NotFoundException;
+import com.absolute.cinema.common.security.UserPrincipal;
 import com.absolute.cinema.dto.PaymentProcessDTO;
 import com.absolute.cinema.dto.PaymentResponseDTO;
 import com.absolute.cinema.dto.PaymentStatusDTO;
 import com.absolute.cinema.entity.Payment;
 import com.absolute.cinema.entity.Purchase;
 import com.absolute.cinema.entity.Ticket;
-import com.absolute.cinema.entity.User;
 import com.absolute.cinema.mapper.PaymentMapper;
 import com.absolute.cinema.repository.PaymentRepository;
 import com.absolute.cinema.repository.PurchaseRepository;
 import com.absolute.cinema.repository.TicketRepository;
 import com.absolute.cinema.service.EmailSenderService;
 import com.absolute.cinema.service.PaymentService;
+import com.absolute.cinema.service.SeatStateService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,6 +33,7 @@ public class PaymentServiceImpl implements PaymentService {
     private final PurchaseRepository purchaseRepository;
     private final PaymentMapper paymentMapper;
     private final EmailSenderService emailSenderService;
+    private final SeatStateService seatStateService;
     private final Random random = new Random();
 
     @Override
@@ -63,6 +65,7 @@ public class PaymentServiceImpl implements PaymentService {
             ticket.setStatus(Ticket.Status.SOLD);
             ticketRepository.save(ticket);
         }
+        seatStateService.apply(purchase.getTickets());
 
         emailSenderService.sendEmail(
                 purchase.getClient().getEmail(),
@@ -74,12 +77,12 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
-    public PaymentStatusDTO getPaymentStatus(String paymentId, User user) {
+    public PaymentStatusDTO getPaymentStatus(String paymentId, UserPrincipal user) {
         Payment payment = paymentRepository.findById(UUID.fromString(paymentId))
                 .orElseThrow(() -> new NotFoundException(String.format("Payment with id %s not found", paymentId)));
 
         if (!isUserAuthorized(payment.getPurchase(), user)) {
-            throw new ForbiddenException(String.format("User with id %s is not authorized to view this payment", user.getId()));
+            throw new ForbiddenException(String.format("User with id %s is not authorized to view this payment", user.id()));
         }
 
         return paymentMapper.toStatusDTO(payment);
@@ -98,8 +101,8 @@ public class PaymentServiceImpl implements PaymentService {
         }
     }
 
-    private boolean isUserAuthorized(Purchase purchase, User user) {
-        return purchase.getClient().getId().equals(user.getId()) ||
+    private boolean isUserAuthorized(Purchase purchase, UserPrincipal user) {
+        return purchase.getClient().getId().equals(user.id()) ||
                 user.getAuthorities().stream()
                         .anyMatch(authority -> authority.getAuthority().equals("ADMIN"));
     }
@@ -3,24 +3,33 @@ package com.absolute.cinema.service.impl;
 import com.absolute.cinema.common.exception.custom.BadRequestException;
 import com.absolute.cinema.common.exception.custom.ForbiddenException;
 import com.absolute.cinema.common.exception.custom.NotFoundException;
+import com.absolute.cinema.common.pagination.Cursor;
+import com.absolute.cinema.common.security.UserPrincipal;
 import com.absolute.cinema.dto.CreatePurchaseDTO;
+import com.absolute.cinema.dto.CursorPageDTO;
+import com.absolute.cinema.dto.CursorPagedListDTO;
 import com.absolute.cinema.dto.PageDTO;
 import com.absolute.cinema.dto.PurchaseDTO;
 import com.absolute.cinema.dto.PurchasePagedListDTO;
 import com.absolute.cinema.entity.Purchase;
 import com.absolute.cinema.entity.Ticket;
-import com.absolute.cinema.entity.User;
 import com.absolute.cinema.mapper.PurchaseMapper;
 import com.absolute.cinema.repository.PurchaseRepository;
 import com.absolute.cinema.repository.TicketRepository;
+import com.absolute.cinema.repository.UserRepository;
 import com.absolute.cinema.service.PurchaseService;
+import com.absolute.cinema.service.SeatStateService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
@@ -32,30 +41,53 @@ public class PurchaseServiceImpl implements PurchaseService {
 
     private final PurchaseRepository purchaseRepository;
     private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
     private final PurchaseMapper purchaseMapper;
+    private final SeatStateService seatStateService;
 
     @Override
-    public PurchasePagedListDTO getPurchasesForClient(int page, int size, UUID clientId) {
+    public PurchasePagedListDTO getPurchasesForClient(int page, int size, boolean withTotal, UUID clientId) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Purchase> purchasePage = purchaseRepository.findByClientId(clientId, pageable);
+        Slice<Purchase> purchasePage = withTotal
+                ? purchaseRepository.findByClientId(clientId, pageable)
+                : purchaseRepository.findSliceByClientId(clientId, pageable);
 
         List<PurchaseDTO> purchaseDTOs = purchasePage.getContent().stream()
                 .map(purchaseMapper::toPurchaseDTO)
                 .collect(Collectors.toList());
 
-        PageDTO pageDTO = new PageDTO(
-                page,
+        PageDTO pageDTO = PageDTO.of(purchasePage);
+
+        return new PurchasePagedListDTO(purchaseDTOs, pageDTO);
+    }
+
+    @Override
+    public CursorPagedListDTO<PurchaseDTO> getPurchasesForClient(String cursor, int size, UUID clientId) {
+        if (size < 1) throw new BadRequestException("Page size is less than 1");
+
+        Window<Purchase> purchases = purchaseRepository.findByClientId(
+                clientId,
+                Cursor.position(cursor, "createdAt", Timestamp::from),
+                Sort.by(Sort.Direction.DESC, "createdAt", "id"),
+                Limit.of(size)
+        );
+
+        List<PurchaseDTO> purchaseDTOs = purchases.getContent().stream()
+                .map(purchaseMapper::toPurchaseDTO)
+                .toList();
+
+        CursorPageDTO pageDTO = new CursorPageDTO(
                 size,
-                (int) purchasePage.getTotalElements(),
-                purchasePage.getTotalPages()
+                Cursor.next(purchases, purchase -> purchase.getCreatedAt().toInstant(), Purchase::getId),
+                purchases.hasNext()
         );
 
-        return new PurchasePagedListDTO(purchaseDTOs, pageDTO);
+        return new CursorPagedListDTO<>(purchaseDTOs, pageDTO);
     }
 
     @Override
     @Transactional
-    public PurchaseDTO createPurchaseForClient(CreatePurchaseDTO createPurchaseDTO, User user) {
+    public PurchaseDTO createPurchaseForClient(CreatePurchaseDTO createPurchaseDTO, UserPrincipal user) {
         Purchase purchase = new Purchase();
 
         int priceCents = 0;
@@ -70,9 +102,9 @@ public class PurchaseServiceImpl implements PurchaseService {
 
             if (existingTicket.getStatus() != Ticket.Status.RESERVED ||
                 existingTicket.getReservedByUser() == null ||
-                !existingTicket.getReservedByUser().getId().equals(user.getId())) {
+                !existingTicket.getReservedByUser().getId().equals(user.id())) {
                 throw new BadRequestException(String.format(
-                        "Ticket with id %s is not reserved by user %s", ticketId, user.getId())
+                        "Ticket with id %s is not reserved by user %s", ticketId, user.id())
                 );
             }
 
@@ -86,7 +118,7 @@ public class PurchaseServiceImpl implements PurchaseService {
             throw new BadRequestException("Trying to buy tickets for multiple films at once");
         }
 
-        purchase.setClient(user);
+        purchase.setClient(userRepository.getReferenceById(user.id()));
         purchase.setStatus(Purchase.Status.PENDING);
         purchase.setTotalCents(priceCents);
 
@@ -95,14 +127,14 @@ public class PurchaseServiceImpl implements PurchaseService {
     }
 
     @Override
-    public PurchaseDTO getPurchaseById(UUID purchaseId, User user) {
+    public PurchaseDTO getPurchaseById(UUID purchaseId, UserPrincipal user) {
         Purchase purchase = getPurchaseAndValidateAccess(purchaseId, user);
         return purchaseMapper.toPurchaseDTO(purchase);
     }
 
     @Override
     @Transactional
-    public PurchaseDTO cancelPurchaseById(UUID purchaseId, User user) {
+    public PurchaseDTO cancelPurchaseById(UUID purchaseId, UserPrincipal user) {
         Purchase purchase = getPurchaseAndValidateAccess(purchaseId, user);
 
         if (purchase.getStatus() != Purchase.Status.PENDING &&
@@ -120,27 +152,28 @@ public class PurchaseServiceImpl implements PurchaseService {
             ticket.setReservedUntil(null);
             ticketRepository.save(ticket);
         }
+        seatStateService.apply(purchase.getTickets());
 
         purchase.setStatus(Purchase.Status.CANCELLED);
         Purchase savedPurchase = purchaseRepository.save(purchase);
         return purchaseMapper.toPurchaseDTO(savedPurchase);
     }
 
-    private Purchase getPurchaseAndValidateAccess(UUID purchaseId, User user) {
+    private Purchase getPurchaseAndValidateAccess(UUID purchaseId, UserPrincipal user) {
         Purchase purchase = purchaseRepository.findById(purchaseId)
                 .orElseThrow(() -> new NotFoundException(String.format("Purchase with id %s not found", purchaseId)));
 
         if (!isUserAuthorized(purchase, user)) {
             throw new ForbiddenException(String.format(
-                    "User %s is not authorized to access purchase %s", user.getId(), purchaseId)
+                    "User %s is not authorized to access purchase %s", user.id(), purchaseId)
             );
         }
 
         return purchase;
     }
 
-    private boolean isUserAuthorized(Purchase purchase, User user) {
-        return purchase.getClient().getId().equals(user.getId()) ||
+    private boolean isUserAuthorized(Purchase purchase, UserPrincipal user) {
+        return purchase.getClient().getId().equals(user.id()) ||
                 user.getAuthorities().stream()
                         .anyMatch(authority -> authority.getAuthority().equals("ADMIN"));
     }
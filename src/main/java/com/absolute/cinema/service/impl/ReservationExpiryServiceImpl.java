@@ -0,0 +1,140 @@
+package com.absolute.cinema.service.impl;
+
+import com.absolute.cinema.common.scheduling.HashedTimingWheel;
+import com.absolute.cinema.repository.TicketRepository;
+import com.absolute.cinema.service.ReservationExpiryService;
+import com.absolute.cinema.service.SeatStateService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+public class ReservationExpiryServiceImpl implements ReservationExpiryService {
+
+    private final int batchSize;
+    private final long wheelTickMs;
+    private final TicketRepository ticketRepository;
+    private final SeatStateService seatStateService;
+    private final HashedTimingWheel<UUID> wheel;
+    private final ScheduledExecutorService wheelExecutor;
+    private final Counter sweepReleasedCounter;
+    private final Counter wheelReleasedCounter;
+    private final DistributionSummary releasedPerRun;
+
+    public ReservationExpiryServiceImpl(
+            TicketRepository ticketRepository,
+            SeatStateService seatStateService,
+            MeterRegistry meterRegistry,
+            @Value("${reservations.expiry-batch-size}") int batchSize,
+            @Value("${reservations.expiry-wheel-tick-ms}") long wheelTickMs,
+            @Value("${reservations.expiry-wheel-size}") int wheelSize
+    ) {
+        this.ticketRepository = ticketRepository;
+        this.seatStateService = seatStateService;
+        this.batchSize = batchSize;
+        this.wheelTickMs = wheelTickMs;
+        this.wheel = new HashedTimingWheel<>(wheelTickMs, wheelSize, System.currentTimeMillis());
+        this.wheelExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reservation-expiry-wheel");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sweepReleasedCounter = Counter.builder("cinema.reservations.expired.released")
+                .description("Seats released after their reservation expired")
+                .tag("source", "sweep")
+                .register(meterRegistry);
+        this.wheelReleasedCounter = Counter.builder("cinema.reservations.expired.released")
+                .description("Seats released after their reservation expired")
+                .tag("source", "wheel")
+                .register(meterRegistry);
+        this.releasedPerRun = DistributionSummary.builder("cinema.reservations.expired.released.per.run")
+                .description("Seats released by a single expiry sweep")
+                .register(meterRegistry);
+        Gauge.builder("cinema.reservations.expiry.wheel.pending", wheel, HashedTimingWheel::size)
+                .description("Reservation holds waiting in the expiry wheel")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWheel() {
+        List<TicketRepository.ActiveReservation> reservations = ticketRepository.findActiveReservations();
+        reservations.forEach(reservation -> schedule(reservation.getId(), reservation.getReservedUntil()));
+        log.info("Scheduled {} active seat reservations for expiry", reservations.size());
+
+        wheelExecutor.scheduleAtFixedRate(this::releaseDueReservations, wheelTickMs, wheelTickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopWheel() {
+        wheelExecutor.shutdownNow();
+    }
+
+    @Override
+    public void schedule(UUID ticketId, OffsetDateTime reservedUntil) {
+        wheel.schedule(ticketId, reservedUntil.toInstant().toEpochMilli());
+    }
+
+    @Override
+    @Scheduled(fixedRateString = "${reservations.expiry-sweep-ms}")
+    public int releaseExpiredReservations() {
+        int released = 0;
+        List<TicketRepository.ReleasedTicket> batch;
+
+        do {
+            batch = ticketRepository.releaseExpiredReservations(OffsetDateTime.now(), batchSize);
+            publish(batch);
+            released += batch.size();
+        } while (batch.size() == batchSize);
+
+        sweepReleasedCounter.increment(released);
+        releasedPerRun.record(released);
+
+        if (released > 0) {
+            log.info("Released {} expired seat reservations", released);
+        }
+
+        return released;
+    }
+
+    private void releaseDueReservations() {
+        List<UUID> due = wheel.advance(System.currentTimeMillis());
+
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<UUID> ids = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                List<TicketRepository.ReleasedTicket> released =
+                        ticketRepository.releaseExpiredReservations(ids, OffsetDateTime.now());
+                publish(released);
+                wheelReleasedCounter.increment(released.size());
+            } catch (Exception ex) {
+                log.warn("Failed to release {} due reservations, leaving them to the sweep", ids.size(), ex);
+            }
+        }
+    }
+
+    private void publish(List<TicketRepository.ReleasedTicket> released) {
+        released.stream()
+                .collect(Collectors.groupingBy(
+                        TicketRepository.ReleasedTicket::getSessionId,
+                        Collectors.mapping(TicketRepository.ReleasedTicket::getId, Collectors.toList())
+                ))
+                .forEach(seatStateService::release);
+    }
+}
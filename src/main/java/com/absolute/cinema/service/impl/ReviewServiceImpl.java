@@ -3,6 +3,10 @@ package com.absolute.cinema.service.impl;
 import com.absolute.cinema.common.exception.custom.BadRequestException;
 import com.absolute.cinema.common.exception.custom.ForbiddenException;
 import com.absolute.cinema.common.exception.custom.NotFoundException;
+import com.absolute.cinema.common.pagination.Cursor;
+import com.absolute.cinema.common.security.UserPrincipal;
+import com.absolute.cinema.dto.CursorPageDTO;
+import com.absolute.cinema.dto.CursorPagedListDTO;
 import com.absolute.cinema.dto.PageDTO;
 import com.absolute.cinema.dto.review.ReviewCreateDTO;
 import com.absolute.cinema.dto.review.ReviewDTO;
@@ -11,7 +15,6 @@ import com.absolute.cinema.dto.review.ReviewUpdateDTO;
 import com.absolute.cinema.entity.Film;
 import com.absolute.cinema.entity.Review;
 import com.absolute.cinema.entity.Ticket;
-import com.absolute.cinema.entity.User;
 import com.absolute.cinema.mapper.ReviewMapper;
 import com.absolute.cinema.repository.FilmRepository;
 import com.absolute.cinema.repository.ReviewRepository;
@@ -19,11 +22,15 @@ import com.absolute.cinema.repository.TicketRepository;
 import com.absolute.cinema.repository.UserRepository;
 import com.absolute.cinema.service.ReviewService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.util.UUID;
 
 @Service
@@ -38,28 +45,51 @@ public class ReviewServiceImpl implements ReviewService {
     private final ReviewMapper reviewMapper;
 
     private UUID currentUserId() {
-        var email = SecurityContextHolder.getContext().getAuthentication().getName();
-        return userRepository.findByEmail(email)
-                .map(User::getId)
-                .orElseThrow(() -> new NotFoundException(String.format("User with email %s not found", email)));
+        var principal = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return principal.id();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public ReviewPagedListDTO getFilmReviews(UUID filmId, int page, int size) {
+    public ReviewPagedListDTO getFilmReviews(UUID filmId, int page, int size, boolean withTotal) {
         if (!filmRepository.existsById(filmId))
             throw new NotFoundException(String.format("Film with id %s not found", filmId));
         if (page < 0) throw new BadRequestException("Page index is less than 0");
         if (size < 1) throw new BadRequestException("Page size is less than 1");
 
         var pageable = PageRequest.of(page, size);
-        var pageResult = reviewRepository.findByFilm_Id(filmId, pageable);
+        Slice<Review> pageResult = withTotal
+                ? reviewRepository.findByFilm_Id(filmId, pageable)
+                : reviewRepository.findSliceByFilm_Id(filmId, pageable);
 
         var data = pageResult.getContent().stream().map(reviewMapper::toDTO).toList();
-        var pagination = new PageDTO(page, size, (int) pageResult.getTotalElements(), pageResult.getTotalPages());
+        var pagination = PageDTO.of(pageResult);
         return new ReviewPagedListDTO(data, pagination);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPagedListDTO<ReviewDTO> getFilmReviews(UUID filmId, String cursor, int size) {
+        if (!filmRepository.existsById(filmId))
+            throw new NotFoundException(String.format("Film with id %s not found", filmId));
+        if (size < 1) throw new BadRequestException("Page size is less than 1");
+
+        var window = reviewRepository.findByFilm_Id(
+                filmId,
+                Cursor.position(cursor, "createdAt", Timestamp::from),
+                Sort.by(Sort.Direction.DESC, "createdAt", "id"),
+                Limit.of(size)
+        );
+
+        var data = window.getContent().stream().map(reviewMapper::toDTO).toList();
+        var pagination = new CursorPageDTO(
+                size,
+                Cursor.next(window, review -> review.getCreatedAt().toInstant(), Review::getId),
+                window.hasNext()
+        );
+        return new CursorPagedListDTO<>(data, pagination);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public ReviewDTO getById(UUID id) {
@@ -83,12 +113,9 @@ public class ReviewServiceImpl implements ReviewService {
             throw new BadRequestException("You can only review films you have watched (purchased ticket required)");
         }
 
-        var user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException(String.format(
-                "User with id %s not found", userId)));
-
         var review = new Review();
         review.setFilm(film);
-        review.setClient(user);
+        review.setClient(userRepository.getReferenceById(userId));
         review.setRating(dto.rating());
         review.setText(dto.text());
 
@@ -0,0 +1,187 @@
+package com.absolute.cinema.service.impl;
+
+import com.absolute.cinema.dto.TicketDTO;
+import com.absolute.cinema.entity.Ticket;
+import com.absolute.cinema.repository.SeatRepository;
+import com.absolute.cinema.repository.SessionRepository;
+import com.absolute.cinema.repository.TicketRepository;
+import com.absolute.cinema.service.SeatStateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+public class SeatStateServiceImpl implements SeatStateService {
+
+    @Value("${seat-state.refresh-ms}")
+    private long refreshMs;
+
+    private final TicketRepository ticketRepository;
+    private final SessionRepository sessionRepository;
+    private final SeatRepository seatRepository;
+    private final Map<UUID, SessionSeatState> states = new ConcurrentHashMap<>();
+    private final Map<UUID, Refresh> refreshes = new ConcurrentHashMap<>();
+
+    @Override
+    public List<TicketDTO> getTickets(UUID sessionId, Ticket.Status status) {
+        long now = System.currentTimeMillis();
+        SessionSeatState state = states.get(sessionId);
+
+        if (state == null || now - state.getLoadedAt() > refreshMs) {
+            state = refresh(sessionId);
+        }
+
+        return state.toDTOs(status);
+    }
+
+    @Override
+    public void apply(Collection<Ticket> tickets) {
+        List<SeatUpdate> updates = tickets.stream()
+                .map(ticket -> new SeatUpdate(
+                        ticket.getSession().getId(),
+                        ticket.getId(),
+                        ticket.getStatus(),
+                        ticket.getReservedUntil()
+                ))
+                .toList();
+
+        afterCommit(() -> updates.forEach(update -> update(update.sessionId(),
+                state -> state.update(update.ticketId(), update.status(), update.reservedUntil()))));
+    }
+
+    @Override
+    public void release(UUID sessionId, Collection<UUID> ticketIds) {
+        afterCommit(() -> update(sessionId,
+                state -> ticketIds.forEach(ticketId -> state.update(ticketId, Ticket.Status.AVAILABLE, null))));
+    }
+
+    @Override
+    public void evict(UUID sessionId) {
+        afterCommit(() -> {
+            Refresh refresh = refreshes.get(sessionId);
+            if (refresh != null) {
+                synchronized (refresh) {
+                    refresh.evicted = true;
+                }
+            }
+            states.remove(sessionId);
+        });
+    }
+
+    @Scheduled(fixedRateString = "${seat-state.eviction-ms}")
+    public void evictStartedSessions() {
+        OffsetDateTime now = OffsetDateTime.now();
+        states.values().removeIf(state -> !state.getStartAt().isAfter(now));
+    }
+
+    /**
+     * Reloads the state of a session once for all concurrent readers: the first one loads it, the others wait
+     * for its result. Updates committed while the load runs may be missing from what it read, so they are
+     * recorded and applied again to the new state before it replaces the old one.
+     */
+    private SessionSeatState refresh(UUID sessionId) {
+        Refresh refresh = new Refresh();
+        Refresh running = refreshes.putIfAbsent(sessionId, refresh);
+        if (running != null) {
+            return running.await();
+        }
+
+        try {
+            SessionSeatState state = load(sessionId, System.currentTimeMillis());
+
+            synchronized (refresh) {
+                refresh.updates.forEach(update -> update.accept(state));
+                if (!refresh.evicted && !state.isEmpty() && state.getStartAt().isAfter(OffsetDateTime.now())) {
+                    states.put(sessionId, state);
+                } else {
+                    states.remove(sessionId);
+                }
+                refreshes.remove(sessionId, refresh);
+            }
+
+            refresh.result.complete(state);
+            return state;
+        } catch (RuntimeException e) {
+            refreshes.remove(sessionId, refresh);
+            refresh.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void update(UUID sessionId, Consumer<SessionSeatState> update) {
+        Refresh refresh = refreshes.get(sessionId);
+        if (refresh != null) {
+            synchronized (refresh) {
+                if (refreshes.get(sessionId) == refresh) {
+                    refresh.updates.add(update);
+                }
+            }
+        }
+
+        SessionSeatState state = states.get(sessionId);
+        if (state != null) {
+            update.accept(state);
+        }
+    }
+
+    private SessionSeatState load(UUID sessionId, long now) {
+        return sessionRepository.findById(sessionId)
+                .map(session -> SessionSeatState.of(
+                        sessionId,
+                        session.getStartAt(),
+                        seatRepository.findByHallIdOrderByRowAscNumberAsc(session.getHall().getId()),
+                        ticketRepository.findBySessionId(sessionId),
+                        now
+                ))
+                .orElseGet(() -> SessionSeatState.empty(sessionId, now));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class Refresh {
+        private final CompletableFuture<SessionSeatState> result = new CompletableFuture<>();
+        private final List<Consumer<SessionSeatState>> updates = new ArrayList<>();
+        private boolean evicted;
+
+        private SessionSeatState await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private record SeatUpdate(UUID sessionId, UUID ticketId, Ticket.Status status, OffsetDateTime reservedUntil) {
+    }
+}
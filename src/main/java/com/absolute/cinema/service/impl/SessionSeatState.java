@@ -0,0 +1,158 @@
+package com.absolute.cinema.service.impl;
+
+import com.absolute.cinema.dto.TicketDTO;
+import com.absolute.cinema.entity.Seat;
+import com.absolute.cinema.entity.Ticket;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Seat map of a single session, one slot per seat ordinal (hall plan ordered by row and seat number).
+ * Immutable seat data lives in plain arrays; only status and hold expiry change after loading.
+ * Seats without a ticket row get the id their row will have once materialized on first reservation.
+ */
+final class SessionSeatState {
+
+    private static final Ticket.Status[] STATUSES = Ticket.Status.values();
+
+    @Getter
+    private final UUID sessionId;
+
+    @Getter
+    private final OffsetDateTime startAt;
+
+    @Getter
+    private final long loadedAt;
+
+    private final UUID[] ticketIds;
+    private final UUID[] seatIds;
+    private final UUID[] categoryIds;
+    private final int[] priceCents;
+    private final byte[] statuses;
+    private final OffsetDateTime[] reservedUntil;
+    private final Map<UUID, Integer> ordinals;
+
+    private SessionSeatState(UUID sessionId, OffsetDateTime startAt, int size, long loadedAt) {
+        this.sessionId = sessionId;
+        this.startAt = startAt;
+        this.loadedAt = loadedAt;
+        this.ticketIds = new UUID[size];
+        this.seatIds = new UUID[size];
+        this.categoryIds = new UUID[size];
+        this.priceCents = new int[size];
+        this.statuses = new byte[size];
+        this.reservedUntil = new OffsetDateTime[size];
+        this.ordinals = new HashMap<>(size * 2);
+    }
+
+    static SessionSeatState empty(UUID sessionId, long loadedAt) {
+        return new SessionSeatState(sessionId, null, 0, loadedAt);
+    }
+
+    static SessionSeatState of(UUID sessionId, OffsetDateTime startAt, List<Seat> seats, List<Ticket> tickets, long loadedAt) {
+        Map<UUID, Ticket> ticketsBySeat = new LinkedHashMap<>();
+        tickets.forEach(ticket -> ticketsBySeat.put(ticket.getSeat().getId(), ticket));
+
+        Set<UUID> planSeatIds = seats.stream().map(Seat::getId).collect(Collectors.toSet());
+        int size = seats.size() + (int) tickets.stream()
+                .filter(ticket -> !planSeatIds.contains(ticket.getSeat().getId()))
+                .count();
+        SessionSeatState state = new SessionSeatState(sessionId, startAt, size, loadedAt);
+
+        int ordinal = 0;
+        for (Seat seat : seats) {
+            Ticket ticket = ticketsBySeat.remove(seat.getId());
+            if (ticket != null) {
+                state.set(ordinal++, ticket);
+            } else {
+                state.set(ordinal++, lazyTicketId(sessionId, seat.getId()), seat.getId(), seat.getCategory().getId(),
+                        seat.getCategory().getPriceCents(), Ticket.Status.AVAILABLE, null);
+            }
+        }
+
+        for (Ticket ticket : ticketsBySeat.values()) {
+            state.set(ordinal++, ticket);
+        }
+
+        return state;
+    }
+
+    /**
+     * Must match {@code md5(session_id::text || seat_id::text)::uuid} used when a seat is materialized.
+     */
+    static UUID lazyTicketId(UUID sessionId, UUID seatId) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5")
+                    .digest((sessionId.toString() + seatId).getBytes(StandardCharsets.UTF_8));
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+
+    boolean isEmpty() {
+        return ticketIds.length == 0;
+    }
+
+    synchronized void update(UUID ticketId, Ticket.Status status, OffsetDateTime until) {
+        Integer ordinal = ordinals.get(ticketId);
+        if (ordinal == null) {
+            return;
+        }
+
+        statuses[ordinal] = (byte) status.ordinal();
+        reservedUntil[ordinal] = until;
+    }
+
+    synchronized List<TicketDTO> toDTOs(Ticket.Status filter) {
+        List<TicketDTO> tickets = new ArrayList<>(ticketIds.length);
+
+        for (int i = 0; i < ticketIds.length; i++) {
+            if (filter != null && statuses[i] != filter.ordinal()) {
+                continue;
+            }
+
+            tickets.add(new TicketDTO(
+                    ticketIds[i],
+                    sessionId,
+                    seatIds[i],
+                    categoryIds[i],
+                    priceCents[i],
+                    STATUSES[statuses[i]],
+                    reservedUntil[i]
+            ));
+        }
+
+        return tickets;
+    }
+
+    private void set(int ordinal, Ticket ticket) {
+        set(ordinal, ticket.getId(), ticket.getSeat().getId(), ticket.getCategory().getId(), ticket.getPriceCents(),
+                ticket.getStatus(), ticket.getReservedUntil());
+    }
+
+    private void set(int ordinal, UUID ticketId, UUID seatId, UUID categoryId, int price, Ticket.Status status,
+                     OffsetDateTime until) {
+        ticketIds[ordinal] = ticketId;
+        seatIds[ordinal] = seatId;
+        categoryIds[ordinal] = categoryId;
+        priceCents[ordinal] = price;
+        statuses[ordinal] = (byte) status.ordinal();
+        reservedUntil[ordinal] = until;
+        ordinals.put(ticketId, ordinal);
+    }
+}
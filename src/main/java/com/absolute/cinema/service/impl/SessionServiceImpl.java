@@ -2,6 +2,7 @@ package com.absolute.cinema.service.impl;
 
 import com.absolute.cinema.common.exception.custom.BadRequestException;
 import com.absolute.cinema.common.exception.custom.NotFoundException;
+import com.absolute.cinema.common.pagination.Cursor;
 import com.absolute.cinema.dto.*;
 import com.absolute.cinema.entity.Film;
 import com.absolute.cinema.entity.Hall;
@@ -11,20 +12,25 @@ import com.absolute.cinema.repository.FilmRepository;
 import com.absolute.cinema.repository.HallRepository;
 import com.absolute.cinema.repository.SessionRepository;
 import com.absolute.cinema.service.SessionService;
+import com.absolute.cinema.service.SessionSlotIndex;
 import com.absolute.cinema.service.TicketService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
 
@@ -33,49 +39,83 @@ import java.util.UUID;
 @Transactional
 public class SessionServiceImpl implements SessionService {
 
+    private static final String SLOT_CONSTRAINT = "ex_sessions_hall_slot";
+
     private final SessionRepository sessionRepository;
     private final FilmRepository filmRepository;
     private final HallRepository hallRepository;
     private final TicketService ticketService;
     private final SessionMapper sessionMapper;
+    private final SessionSlotIndex sessionSlotIndex;
 
     @Override
-    public SessionPagedListDTO getSessions(int page, int size, UUID filmId, Date date) {
+    public SessionPagedListDTO getSessions(int page, int size, boolean withTotal, UUID filmId, Date date) {
         if (page < 0) throw new BadRequestException("Page index must not be less than zero");
         if (size < 1) throw new BadRequestException("Page size must not be less than one");
 
         Pageable pageable = PageRequest.of(page, size);
-        Page<Session> sessions;
+        Slice<Session> sessions;
 
-        OffsetDateTime startOfDay = null;
-        OffsetDateTime endOfDay = null;
+        OffsetDateTime startOfDay = date != null ? startOfDay(date) : null;
+        OffsetDateTime endOfDay = date != null ? endOfDay(date) : null;
 
-        if (date != null) {
-            ZoneId zone = ZoneId.systemDefault();
-            LocalDate localDate = date.toInstant().atZone(zone).toLocalDate();
-            startOfDay = localDate.atStartOfDay(zone).toOffsetDateTime();
-            endOfDay = localDate.plusDays(1).atStartOfDay(zone).toOffsetDateTime().minusNanos(1);
+        if (filmId != null && date != null) {
+            sessions = withTotal
+                    ? sessionRepository.findByFilmIdAndStartAtBetween(filmId, startOfDay, endOfDay, pageable)
+                    : sessionRepository.findSliceByFilmIdAndStartAtBetween(filmId, startOfDay, endOfDay, pageable);
+        } else if (filmId != null) {
+            sessions = withTotal
+                    ? sessionRepository.findByFilmId(filmId, pageable)
+                    : sessionRepository.findSliceByFilmId(filmId, pageable);
+        } else if (date != null) {
+            sessions = withTotal
+                    ? sessionRepository.findByStartAtBetween(startOfDay, endOfDay, pageable)
+                    : sessionRepository.findSliceByStartAtBetween(startOfDay, endOfDay, pageable);
+        } else {
+            sessions = withTotal
+                    ? sessionRepository.findAll(pageable)
+                    : sessionRepository.findSliceBy(pageable);
         }
 
+        return new SessionPagedListDTO(
+                sessions.getContent().stream()
+                        .map(sessionMapper::toDTO)
+                        .toList(),
+                PageDTO.of(sessions)
+        );
+    }
+
+    @Override
+    public CursorPagedListDTO<SessionDTO> getSessions(String cursor, int size, UUID filmId, Date date) {
+        if (size < 1) throw new BadRequestException("Page size must not be less than one");
+
+        ScrollPosition position = Cursor.position(
+                cursor, "startAt", key -> OffsetDateTime.ofInstant(key, ZoneId.systemDefault()));
+        Sort sort = Sort.by("startAt", "id");
+        Limit limit = Limit.of(size);
+        Window<Session> sessions;
+
+        OffsetDateTime startOfDay = date != null ? startOfDay(date) : null;
+        OffsetDateTime endOfDay = date != null ? endOfDay(date) : null;
+
         if (filmId != null && date != null) {
-            sessions = sessionRepository.findByFilmIdAndStartAtBetween(filmId, startOfDay, endOfDay, pageable);
+            sessions = sessionRepository.findByFilmIdAndStartAtBetween(filmId, startOfDay, endOfDay, position, sort, limit);
         } else if (filmId != null) {
-            sessions = sessionRepository.findByFilmId(filmId, pageable);
+            sessions = sessionRepository.findByFilmId(filmId, position, sort, limit);
         } else if (date != null) {
-            sessions = sessionRepository.findByStartAtBetween(startOfDay, endOfDay, pageable);
+            sessions = sessionRepository.findByStartAtBetween(startOfDay, endOfDay, position, sort, limit);
         } else {
-            sessions = sessionRepository.findAll(pageable);
+            sessions = sessionRepository.findAllBy(position, sort, limit);
         }
 
-        return new SessionPagedListDTO(
+        return new CursorPagedListDTO<>(
                 sessions.getContent().stream()
                         .map(sessionMapper::toDTO)
                         .toList(),
-                new PageDTO(
-                        page,
+                new CursorPageDTO(
                         size,
-                        (int) sessions.getTotalElements(),
-                        sessions.getTotalPages()
+                        Cursor.next(sessions, session -> session.getStartAt().toInstant(), Session::getId),
+                        sessions.hasNext()
                 )
         );
     }
@@ -103,17 +143,21 @@ public class SessionServiceImpl implements SessionService {
                 ZoneId.systemDefault()
         );
 
-        validateSessionTimeSlot(hall.getId(), null, startAt, film.getDurationMinutes());
+        OffsetDateTime endAt = startAt.plusMinutes(film.getDurationMinutes());
+        sessionSlotIndex.validate(hall.getId(), null, startAt, endAt);
 
         Session session = new Session();
         session.setFilm(film);
         session.setHall(hall);
         session.setStartAt(startAt);
         session.setSlotStartAt(startAt);
-        session.setSlotEndAt(startAt.plusMinutes(film.getDurationMinutes()));
+        session.setSlotEndAt(endAt);
+        session.setLazyTickets(ticketService.isLazyMaterialization());
 
         session = sessionRepository.save(session);
+        flushSessionSlots();
         ticketService.createTicketsForSession(session);
+        sessionSlotIndex.put(session);
 
         return sessionMapper.toDTO(session);
     }
@@ -133,22 +177,12 @@ public class SessionServiceImpl implements SessionService {
             throw new BadRequestException("Start date cannot be after period generation end date");
         }
 
-        List<Session> createdSessions = new ArrayList<>();
+        int durationMinutes = film.getDurationMinutes();
+        List<OffsetDateTime> slots = new ArrayList<>();
         OffsetDateTime currentDateTime = startAt;
 
         while (!currentDateTime.isAfter(endAt)) {
-            validateSessionTimeSlot(hall.getId(), null, currentDateTime, film.getDurationMinutes());
-
-            Session session = new Session();
-            session.setFilm(film);
-            session.setHall(hall);
-            session.setStartAt(currentDateTime);
-            session.setSlotStartAt(currentDateTime);
-            session.setSlotEndAt(currentDateTime.plusMinutes(film.getDurationMinutes()));
-
-            session = sessionRepository.save(session);
-            ticketService.createTicketsForSession(session);
-            createdSessions.add(session);
+            slots.add(currentDateTime);
 
             currentDateTime = switch (dto.periodicConfig().period()) {
                 case EVERY_DAY -> currentDateTime.plusDays(1);
@@ -157,10 +191,35 @@ public class SessionServiceImpl implements SessionService {
             };
         }
 
-        if (createdSessions.isEmpty()) {
+        if (slots.isEmpty()) {
             throw new BadRequestException("No sessions were created within the specified period");
         }
 
+        List<Session> createdSessions = new ArrayList<>(slots.size());
+
+        for (OffsetDateTime slot : slots) {
+            OffsetDateTime slotEnd = slot.plusMinutes(durationMinutes);
+            sessionSlotIndex.validate(hall.getId(), null, slot, slotEnd);
+
+            if (!createdSessions.isEmpty() && slot.isBefore(createdSessions.getLast().getSlotEndAt().plusMinutes(20))) {
+                throw new BadRequestException("Session must start at least 20 minutes after the previous session ends");
+            }
+
+            Session session = new Session();
+            session.setFilm(film);
+            session.setHall(hall);
+            session.setStartAt(slot);
+            session.setSlotStartAt(slot);
+            session.setSlotEndAt(slotEnd);
+            session.setLazyTickets(ticketService.isLazyMaterialization());
+            createdSessions.add(session);
+        }
+
+        createdSessions = sessionRepository.saveAll(createdSessions);
+        flushSessionSlots();
+        ticketService.createTicketsForSessions(createdSessions.stream().map(Session::getId).toList());
+        createdSessions.forEach(sessionSlotIndex::put);
+
         return sessionMapper.toDTO(createdSessions.getFirst());
     }
 
@@ -191,13 +250,18 @@ public class SessionServiceImpl implements SessionService {
                 ZoneId.systemDefault()
         );
 
-        validateSessionTimeSlot(hall.getId(), id, startAt, film.getDurationMinutes());
+        OffsetDateTime endAt = startAt.plusMinutes(film.getDurationMinutes());
+        sessionSlotIndex.validate(hall.getId(), id, startAt, endAt);
 
         session.setFilm(film);
         session.setHall(hall);
         session.setStartAt(startAt);
+        session.setSlotStartAt(startAt);
+        session.setSlotEndAt(endAt);
 
         session = sessionRepository.save(session);
+        flushSessionSlots();
+        sessionSlotIndex.put(session);
         return sessionMapper.toDTO(session);
     }
 
@@ -210,40 +274,42 @@ public class SessionServiceImpl implements SessionService {
         ticketService.deleteTicketsBySessionId(id);
 
         sessionRepository.deleteById(id);
+        sessionSlotIndex.remove(id);
     }
 
-    private void validateSessionTimeSlot(UUID hallId, UUID sessionId, OffsetDateTime startTime, int durationMinutes) {
-        OffsetDateTime endTime = startTime.plusMinutes(durationMinutes);
-
-        List<Session> conflictingSessions = sessionRepository.findByHallIdAndStartAtBetween(
-                hallId,
-                startTime.minusMinutes(durationMinutes + 20),
-                endTime.plusMinutes(20)
-        );
-
-        if (sessionId != null) {
-            conflictingSessions = conflictingSessions.stream()
-                    .filter(session -> !session.getId().equals(sessionId))
-                    .toList();
+    @Override
+    public void resizeFilmSessions(UUID filmId, int durationMinutes) {
+        try {
+            new HashSet<>(sessionRepository.resizeSlotsByFilmId(filmId, durationMinutes))
+                    .forEach(sessionSlotIndex::evict);
+        } catch (DataIntegrityViolationException e) {
+            throw slotConflict(e);
         }
+    }
 
-        for (Session other : conflictingSessions) {
-            OffsetDateTime otherStart = other.getStartAt();
-            OffsetDateTime otherEnd = otherStart.plusMinutes(other.getFilm().getDurationMinutes());
+    private OffsetDateTime startOfDay(Date date) {
+        ZoneId zone = ZoneId.systemDefault();
+        return date.toInstant().atZone(zone).toLocalDate().atStartOfDay(zone).toOffsetDateTime();
+    }
 
-            if (startTime.isAfter(otherEnd) &&
-                    ChronoUnit.MINUTES.between(otherEnd, startTime) < 20) {
-                throw new BadRequestException("Session must start at least 20 minutes after the previous session ends");
-            }
+    private OffsetDateTime endOfDay(Date date) {
+        ZoneId zone = ZoneId.systemDefault();
+        return date.toInstant().atZone(zone).toLocalDate().plusDays(1).atStartOfDay(zone).toOffsetDateTime().minusNanos(1);
+    }
 
-            if (endTime.isBefore(otherStart) &&
-                    ChronoUnit.MINUTES.between(endTime, otherStart) < 20) {
-                throw new BadRequestException("Session must end at least 20 minutes before the next session starts");
-            }
+    private void flushSessionSlots() {
+        try {
+            sessionRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw slotConflict(e);
+        }
+    }
 
-            if ((startTime.isBefore(otherEnd) && endTime.isAfter(otherStart))) {
-                throw new BadRequestException("Session overlaps with an existing session");
-            }
+    private RuntimeException slotConflict(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        if (message != null && message.contains(SLOT_CONSTRAINT)) {
+            return new BadRequestException("Session overlaps with an existing session");
         }
+        return e;
     }
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.absolute.cinema.service.impl;
+
+import com.absolute.cinema.common.exception.custom.BadRequestException;
+import com.absolute.cinema.entity.Session;
+import com.absolute.cinema.repository.SessionRepository;
+import com.absolute.cinema.service.SessionSlotIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+public class SessionSlotIndexImpl implements SessionSlotIndex {
+
+    private static final int GAP_MINUTES = 20;
+    private static final UUID MIN_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final UUID MAX_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+    private static final Comparator<Slot> SLOT_ORDER = Comparator.comparing(Slot::start).thenComparing(Slot::sessionId);
+
+    @Value("${session-slots.refresh-ms}")
+    private long refreshMs;
+
+    private final SessionRepository sessionRepository;
+    private final Map<UUID, HallSlots> halls = new ConcurrentHashMap<>();
+
+    @Override
+    public void validate(UUID hallId, UUID sessionId, OffsetDateTime slotStartAt, OffsetDateTime slotEndAt) {
+        hallSlots(hallId).validate(sessionId, slotStartAt, slotEndAt);
+    }
+
+    @Override
+    public void put(Session session) {
+        Slot slot = new Slot(session.getId(), session.getSlotStartAt(), session.getSlotEndAt());
+        UUID hallId = session.getHall().getId();
+
+        afterCommit(() -> {
+            halls.values().forEach(hall -> hall.remove(slot.sessionId()));
+            HallSlots hall = halls.get(hallId);
+            if (hall != null) {
+                hall.add(slot);
+            }
+        });
+    }
+
+    @Override
+    public void remove(UUID sessionId) {
+        afterCommit(() -> halls.values().forEach(hall -> hall.remove(sessionId)));
+    }
+
+    @Override
+    public void evict(UUID hallId) {
+        afterCommit(() -> halls.remove(hallId));
+    }
+
+    private HallSlots hallSlots(UUID hallId) {
+        long now = System.currentTimeMillis();
+        HallSlots hall = halls.get(hallId);
+
+        if (hall == null || now - hall.loadedAt > refreshMs) {
+            hall = new HallSlots(now);
+            for (SessionRepository.SessionSlot slot : sessionRepository.findSlotsByHallId(hallId)) {
+                hall.add(new Slot(slot.getId(), slot.getSlotStartAt(), slot.getSlotEndAt()));
+            }
+            halls.put(hallId, hall);
+        }
+
+        return hall;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Slot(UUID sessionId, OffsetDateTime start, OffsetDateTime end) {
+    }
+
+    /**
+     * Slots of one hall ordered by start. A slot can only conflict with slots starting less than
+     * the longest known slot plus the gap before it, so a lookup walks just that window.
+     */
+    private static final class HallSlots {
+
+        private final long loadedAt;
+        private final NavigableSet<Slot> slots = new TreeSet<>(SLOT_ORDER);
+        private final Map<UUID, Slot> byId = new HashMap<>();
+        private long maxDurationMinutes;
+
+        private HallSlots(long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        synchronized void add(Slot slot) {
+            slots.add(slot);
+            byId.put(slot.sessionId(), slot);
+            maxDurationMinutes = Math.max(maxDurationMinutes, Duration.between(slot.start(), slot.end()).toMinutes());
+        }
+
+        synchronized void remove(UUID sessionId) {
+            Slot slot = byId.remove(sessionId);
+            if (slot != null) {
+                slots.remove(slot);
+            }
+        }
+
+        synchronized void validate(UUID sessionId, OffsetDateTime start, OffsetDateTime end) {
+            NavigableSet<Slot> nearby = slots.subSet(
+                    new Slot(MIN_ID, start.minusMinutes(maxDurationMinutes + GAP_MINUTES), null), true,
+                    new Slot(MAX_ID, end.plusMinutes(GAP_MINUTES), null), true
+            );
+
+            for (Slot other : nearby) {
+                if (other.sessionId().equals(sessionId)) {
+                    continue;
+                }
+
+                if (!start.isBefore(other.end().plusMinutes(GAP_MINUTES))
+                        || !other.start().isBefore(end.plusMinutes(GAP_MINUTES))) {
+                    continue;
+                }
+
+                if (!start.isBefore(other.end())) {
+                    throw new BadRequestException("Session must start at least 20 minutes after the previous session ends");
+                }
+
+                if (!end.isAfter(other.start())) {
+                    throw new BadRequestException("Session must end at least 20 minutes before the next session starts");
+                }
+
+                throw new BadRequestException("Session overlaps with an existing session");
+            }
+        }
+    }
+}
@@ -1,81 +1,138 @@
 package com.absolute.cinema.service.impl;
 
 import com.absolute.cinema.common.exception.custom.BadRequestException;
+import com.absolute.cinema.common.exception.custom.ConflictException;
 import com.absolute.cinema.common.exception.custom.NotFoundException;
+import com.absolute.cinema.common.security.UserPrincipal;
 import com.absolute.cinema.dto.TicketDTO;
-import com.absolute.cinema.entity.Seat;
 import com.absolute.cinema.entity.Session;
 import com.absolute.cinema.entity.Ticket;
-import com.absolute.cinema.entity.User;
 import com.absolute.cinema.mapper.TicketMapper;
-import com.absolute.cinema.repository.SeatRepository;
 import com.absolute.cinema.repository.TicketRepository;
+import com.absolute.cinema.service.ReservationExpiryService;
+import com.absolute.cinema.service.SeatStateService;
 import com.absolute.cinema.service.TicketService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class TicketServiceImpl implements TicketService {
 
+    private static final int RESERVATION_MINUTES = 15;
+    private static final int SESSION_BATCH_SIZE = 50;
+
+    @Value("${tickets.lazy-materialization}")
+    private boolean lazyMaterialization;
+
     private final TicketRepository ticketRepository;
     private final TicketMapper ticketMapper;
-    private final SeatRepository seatRepository;
+    private final SeatStateService seatStateService;
+    private final ReservationExpiryService reservationExpiryService;
+
+    @Override
+    public boolean isLazyMaterialization() {
+        return lazyMaterialization;
+    }
 
     @Override
     public void createTicketsForSession(Session session) {
-        List<Seat> seats = seatRepository.findByHallId(session.getHall().getId());
+        createTicketsForSessions(List.of(session.getId()));
+    }
 
-        List<Ticket> tickets = seats.stream()
-                .map(seat -> createTicket(session, seat))
-                .toList();
+    @Override
+    public void createTicketsForSessions(List<UUID> sessionIds) {
+        if (lazyMaterialization) {
+            return;
+        }
 
-        ticketRepository.saveAll(tickets);
+        for (int from = 0; from < sessionIds.size(); from += SESSION_BATCH_SIZE) {
+            ticketRepository.insertTicketsForSessions(
+                    sessionIds.subList(from, Math.min(from + SESSION_BATCH_SIZE, sessionIds.size())));
+        }
     }
 
     @Override
     public void deleteTicketsBySessionId(UUID sessionId) {
         ticketRepository.deleteBySessionId(sessionId);
+        seatStateService.evict(sessionId);
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<TicketDTO> getTicketsForSession(UUID sessionId, Ticket.Status status) {
-        List<Ticket> tickets;
-        if (status != null) {
-            tickets = ticketRepository.findBySessionIdAndStatus(sessionId, status);
-        } else {
-            tickets = ticketRepository.findBySessionId(sessionId);
-        }
-
-        return tickets.stream()
-                .map(ticketMapper::toDTO)
-                .toList();
+        return seatStateService.getTickets(sessionId, status);
     }
 
     @Override
-    public TicketDTO reserveTicket(UUID id, User user) {
+    public TicketDTO reserveTicket(UUID id, UserPrincipal user) {
+        OffsetDateTime deadline = reservationDeadline();
+        int reserved = ticketRepository.reserveIfAvailable(id, user.id(), deadline);
+
         Ticket ticket = ticketRepository.findById(id).orElseThrow(
                 () -> new NotFoundException(String.format("Ticket with id %s not found", id)));
 
-        if (ticket.getStatus() != Ticket.Status.AVAILABLE) {
+        if (reserved == 0) {
             throw new BadRequestException(String.format("Ticket with id %s is not available for reservation", id));
         }
 
-        ticket.setStatus(Ticket.Status.RESERVED);
-        ticket.setReservedUntil(OffsetDateTime.now().plusMinutes(15));
-        ticket.setReservedByUser(user);
+        seatStateService.apply(List.of(ticket));
+        reservationExpiryService.schedule(ticket.getId(), ticket.getReservedUntil());
+
+        return ticketMapper.toDTO(ticket);
+    }
+
+    @Override
+    public List<TicketDTO> reserveTickets(UUID sessionId, List<UUID> ticketIds, UserPrincipal user) {
+        OffsetDateTime deadline = reservationDeadline();
+        Set<UUID> requestedIds = new LinkedHashSet<>(ticketIds);
+        Set<UUID> reservedIds = new HashSet<>(
+                ticketRepository.materializeReserved(sessionId, requestedIds, user.id(), deadline));
+
+        List<UUID> existingIds = requestedIds.stream()
+                .filter(id -> !reservedIds.contains(id))
+                .toList();
+        if (!existingIds.isEmpty()) {
+            reservedIds.addAll(ticketRepository.reserveAvailable(sessionId, existingIds, user.id(), deadline));
+        }
+
+        if (reservedIds.size() != requestedIds.size()) {
+            Map<UUID, Ticket> ticketsById = ticketRepository.findAllById(requestedIds).stream()
+                    .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+
+            List<String> conflicts = requestedIds.stream()
+                    .filter(id -> !reservedIds.contains(id))
+                    .map(id -> describeConflict(id, ticketsById.get(id), sessionId))
+                    .toList();
+
+            throw new ConflictException(conflicts);
+        }
+
+        List<Ticket> tickets = ticketRepository.findAllById(reservedIds);
+        seatStateService.apply(tickets);
+        tickets.forEach(ticket -> reservationExpiryService.schedule(ticket.getId(), ticket.getReservedUntil()));
 
-        return ticketMapper.toDTO(ticketRepository.save(ticket));
+        return tickets.stream()
+                .map(ticketMapper::toDTO)
+                .toList();
     }
 
     @Override
-    public TicketDTO cancelReserveForTicket(UUID id, User user) {
+    public TicketDTO cancelReserveForTicket(UUID id, UserPrincipal user) {
         Ticket ticket = ticketRepository.findById(id).orElseThrow(
                 () -> new NotFoundException(String.format("Ticket with id %s not found", id)));
 
@@ -83,7 +140,7 @@ public class TicketServiceImpl implements TicketService {
             throw new BadRequestException(String.format("Ticket with id %s is not reserved", id));
         }
 
-        if (ticket.getReservedByUser() == null || !ticket.getReservedByUser().getId().equals(user.getId())) {
+        if (ticket.getReservedByUser() == null || !ticket.getReservedByUser().getId().equals(user.id())) {
             throw new BadRequestException("You can only cancel reservations for tickets you have reserved");
         }
 
@@ -91,16 +148,25 @@ public class TicketServiceImpl implements TicketService {
         ticket.setReservedUntil(null);
         ticket.setReservedByUser(null);
 
-        return ticketMapper.toDTO(ticketRepository.save(ticket));
+        Ticket savedTicket = ticketRepository.save(ticket);
+        seatStateService.apply(List.of(savedTicket));
+
+        return ticketMapper.toDTO(savedTicket);
     }
 
-    private Ticket createTicket(Session session, Seat seat) {
-        Ticket ticket = new Ticket();
-        ticket.setSession(session);
-        ticket.setSeat(seat);
-        ticket.setCategory(seat.getCategory());
-        ticket.setPriceCents(seat.getCategory().getPriceCents());
-        ticket.setStatus(Ticket.Status.AVAILABLE);
-        return ticket;
+    private OffsetDateTime reservationDeadline() {
+        return OffsetDateTime.now().plusMinutes(RESERVATION_MINUTES);
+    }
+
+    private String describeConflict(UUID id, Ticket ticket, UUID sessionId) {
+        if (ticket == null) {
+            return String.format("Ticket with id %s not found", id);
+        }
+
+        if (!ticket.getSession().getId().equals(sessionId)) {
+            return String.format("Ticket with id %s does not belong to session %s", id, sessionId);
+        }
+
+        return String.format("Ticket with id %s is not available for reservation", id);
     }
-}
\ No newline at end of file
+}
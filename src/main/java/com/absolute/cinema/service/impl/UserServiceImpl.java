@@ -2,6 +2,7 @@ package com.absolute.cinema.service.impl;
 
 import com.absolute.cinema.common.exception.custom.BadRequestException;
 import com.absolute.cinema.common.exception.custom.NotFoundException;
+import com.absolute.cinema.common.security.JwtTokenService;
 import com.absolute.cinema.dto.UpdateUserDTO;
 import com.absolute.cinema.dto.UserDTO;
 import com.absolute.cinema.entity.User;
@@ -19,6 +20,7 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final JwtTokenService jwtTokenService;
 
     @Override
     public UserDTO getUserById(UUID id) {
@@ -47,6 +49,9 @@ public class UserServiceImpl implements UserService {
         user.setAge(updateUserDTO.age());
         user.setGender(updateUserDTO.gender());
 
-        return userMapper.toDTO(userRepository.save(user));
+        User savedUser = userRepository.save(user);
+        jwtTokenService.invalidatePrincipal(id);
+
+        return userMapper.toDTO(savedUser);
     }
 }
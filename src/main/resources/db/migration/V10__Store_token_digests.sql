@@ -0,0 +1,11 @@
+ALTER TABLE tokens ADD COLUMN token_digest BYTEA;
+
+UPDATE tokens SET token_digest = sha256(convert_to(access_token, 'UTF8'));
+
+ALTER TABLE tokens ALTER COLUMN token_digest SET NOT NULL;
+
+CREATE UNIQUE INDEX uq_tokens_token_digest ON tokens (token_digest);
+
+DROP INDEX idx_tokens_access_token;
+
+ALTER TABLE tokens DROP COLUMN access_token;
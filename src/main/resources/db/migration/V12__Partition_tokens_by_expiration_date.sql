@@ -0,0 +1,42 @@
+ALTER TABLE tokens RENAME TO tokens_old;
+ALTER INDEX tokens_pkey RENAME TO tokens_old_pkey;
+
+CREATE TABLE tokens (
+    id UUID NOT NULL,
+    token_digest BYTEA NOT NULL,
+    is_logged_out BOOLEAN NOT NULL DEFAULT FALSE,
+    user_id UUID NOT NULL,
+    expiration_date TIMESTAMP NOT NULL,
+    CONSTRAINT tokens_pkey PRIMARY KEY (id, expiration_date),
+    CONSTRAINT fk_token_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+) PARTITION BY RANGE (expiration_date);
+
+CREATE TABLE tokens_default PARTITION OF tokens DEFAULT;
+
+DO $$
+DECLARE
+    day DATE := CURRENT_DATE;
+    last_day DATE;
+BEGIN
+    SELECT GREATEST(CURRENT_DATE + 31, COALESCE(MAX(expiration_date)::date, CURRENT_DATE))
+    INTO last_day
+    FROM tokens_old;
+
+    WHILE day <= last_day LOOP
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF tokens FOR VALUES FROM (%L) TO (%L)',
+            'tokens_p' || to_char(day, 'YYYYMMDD'), day, day + 1
+        );
+        day := day + 1;
+    END LOOP;
+END $$;
+
+INSERT INTO tokens (id, token_digest, is_logged_out, user_id, expiration_date)
+SELECT id, token_digest, is_logged_out, user_id, expiration_date
+FROM tokens_old
+WHERE expiration_date >= CURRENT_DATE;
+
+DROP TABLE tokens_old;
+
+CREATE UNIQUE INDEX uq_tokens_token_digest ON tokens (token_digest, expiration_date);
+CREATE INDEX idx_tokens_user_id ON tokens (user_id);
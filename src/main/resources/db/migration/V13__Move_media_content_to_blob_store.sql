@@ -0,0 +1,2 @@
+ALTER TABLE media ALTER COLUMN content DROP NOT NULL;
+ALTER TABLE media ADD COLUMN size_bytes BIGINT;
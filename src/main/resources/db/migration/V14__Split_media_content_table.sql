@@ -0,0 +1,9 @@
+CREATE TABLE media_content (
+    media_id UUID PRIMARY KEY REFERENCES media(id) ON DELETE CASCADE,
+    content BYTEA NOT NULL
+);
+
+INSERT INTO media_content (media_id, content)
+SELECT id, content FROM media WHERE content IS NOT NULL;
+
+ALTER TABLE media DROP COLUMN content;
@@ -0,0 +1 @@
+ALTER TABLE media ADD COLUMN sha256 VARCHAR(64);
@@ -0,0 +1,14 @@
+CREATE TABLE media_blobs (
+    storage_key VARCHAR(128) PRIMARY KEY,
+    size_bytes BIGINT NOT NULL,
+    ref_count INTEGER NOT NULL CHECK (ref_count >= 0),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO media_blobs (storage_key, size_bytes, ref_count)
+SELECT id::text, size_bytes, 1 FROM media WHERE size_bytes IS NOT NULL;
+
+ALTER TABLE media ADD COLUMN storage_key VARCHAR(128) REFERENCES media_blobs(storage_key);
+UPDATE media SET storage_key = id::text WHERE size_bytes IS NOT NULL;
+
+CREATE INDEX idx_media_storage_key ON media (storage_key);
@@ -0,0 +1,3 @@
+ALTER TABLE media_blobs ADD COLUMN released_at TIMESTAMP;
+
+CREATE INDEX idx_media_blobs_unreferenced ON media_blobs (released_at) WHERE ref_count = 0;
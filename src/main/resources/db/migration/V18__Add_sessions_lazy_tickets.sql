@@ -0,0 +1,6 @@
+ALTER TABLE sessions ADD COLUMN lazy_tickets BOOLEAN NOT NULL DEFAULT FALSE;
+
+UPDATE sessions s
+SET lazy_tickets = TRUE
+WHERE (SELECT count(*) FROM tickets t WHERE t.session_id = s.id)
+    < (SELECT count(*) FROM seats st WHERE st.hall_id = s.hall_id);
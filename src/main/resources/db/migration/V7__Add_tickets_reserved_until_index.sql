@@ -0,0 +1 @@
+CREATE INDEX idx_tickets_reserved_until ON tickets (reserved_until) WHERE status = 'RESERVED';
@@ -0,0 +1,29 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+UPDATE sessions s
+SET slot_start_at = s.start_at,
+    slot_end_at = s.start_at + f.duration_minutes * INTERVAL '1 minute'
+FROM films f
+WHERE f.id = s.film_id
+  AND (s.slot_start_at <> s.start_at OR s.slot_end_at <> s.start_at + f.duration_minutes * INTERVAL '1 minute');
+
+DO $$
+DECLARE
+    conflicts TEXT;
+BEGIN
+    SELECT string_agg(format('hall %s: sessions %s and %s', a.hall_id, a.id, b.id), E'\n')
+    INTO conflicts
+    FROM sessions a
+    JOIN sessions b ON b.hall_id = a.hall_id
+        AND b.id > a.id
+        AND tsrange(a.slot_start_at, a.slot_end_at + INTERVAL '20 minutes')
+            && tsrange(b.slot_start_at, b.slot_end_at + INTERVAL '20 minutes');
+
+    IF conflicts IS NOT NULL THEN
+        RAISE EXCEPTION 'Overlapping sessions must be rescheduled before adding ex_sessions_hall_slot:%', E'\n' || conflicts;
+    END IF;
+END $$;
+
+ALTER TABLE sessions
+    ADD CONSTRAINT ex_sessions_hall_slot
+    EXCLUDE USING gist (hall_id WITH =, tsrange(slot_start_at, slot_end_at + INTERVAL '20 minutes') WITH &&);
@@ -0,0 +1,5 @@
+CREATE INDEX idx_sessions_start_at_id ON sessions (start_at, id);
+CREATE INDEX idx_sessions_film_id_start_at_id ON sessions (film_id, start_at, id);
+CREATE INDEX idx_films_created_at_id ON films (created_at, id);
+CREATE INDEX idx_reviews_film_id_created_at_id ON reviews (film_id, created_at, id);
+CREATE INDEX idx_purchases_client_id_created_at_id ON purchases (client_id, created_at, id);
@@ -0,0 +1,93 @@
+package com.absolute.cinema.common.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.security.SecureRandom;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request token handling before and after parsing was reduced to a single verification:
+ * the old filter derived the key and verified the signature three times per request, once for each claim it read.
+ * Run with {@code main} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtParseBenchmark {
+
+    private String secret;
+    private String token;
+    private JwtTokenService jwtTokenService;
+
+    @Setup
+    public void setUp() {
+        byte[] keyBytes = new byte[32];
+        new SecureRandom().nextBytes(keyBytes);
+        secret = Encoders.BASE64URL.encode(keyBytes);
+
+        token = Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject("user@example.com")
+                .claim("role", "USER")
+                .claim("userId", UUID.randomUUID().toString())
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(keyBytes))
+                .compact();
+
+        jwtTokenService = new JwtTokenService(null, null, null, secret, 60_000, 10_000, 300_000);
+    }
+
+    @Benchmark
+    public void parsePerClaim(Blackhole blackhole) {
+        blackhole.consume(parseWithFreshKey().getSubject());
+        blackhole.consume(parseWithFreshKey().getSubject());
+        blackhole.consume(parseWithFreshKey().getExpiration().before(new Date()));
+    }
+
+    @Benchmark
+    public void parseOnce(Blackhole blackhole) {
+        ParsedToken parsed = jwtTokenService.parse(token);
+        blackhole.consume(parsed.username());
+        blackhole.consume(parsed.isExpired());
+    }
+
+    private Claims parseWithFreshKey() {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(secret));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtParseBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}